@@ -0,0 +1,44 @@
+package com.bank.account.rpc;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts between {@link BigDecimal} and the {@link Decimal} wire message without
+ * going through its textual form, so exact values cross the wire as a few bytes.
+ */
+public final class Decimals {
+    
+    private Decimals() {
+    }
+    
+    public static Decimal toProto(BigDecimal value) {
+        return Decimal.newBuilder()
+                .setUnscaled(UnsafeByteOperations.unsafeWrap(value.unscaledValue().toByteArray()))
+                .setScale(value.scale())
+                .build();
+    }
+    
+    public static BigDecimal fromProto(Decimal value) {
+        ByteString unscaled = value.getUnscaled();
+        BigInteger unscaledValue = unscaled.isEmpty() ? BigInteger.ZERO : new BigInteger(unscaled.toByteArray());
+        return new BigDecimal(unscaledValue, value.getScale());
+    }
+    
+    public static Map<String, Decimal> toProto(Map<String, BigDecimal> values) {
+        Map<String, Decimal> converted = new HashMap<>(values.size() * 2);
+        values.forEach((key, value) -> converted.put(key, toProto(value)));
+        return converted;
+    }
+    
+    public static Map<String, BigDecimal> fromProto(Map<String, Decimal> values) {
+        Map<String, BigDecimal> converted = new HashMap<>(values.size() * 2);
+        values.forEach((key, value) -> converted.put(key, fromProto(value)));
+        return converted;
+    }
+}
@@ -0,0 +1,277 @@
+package com.bank.account.cache;
+
+import com.bank.account.dto.AccountResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-limited cache of accounts, addressable by id, account number and
+ * owning user. Writes invalidate rather than overwrite: concurrent writers can
+ * finish in a different order than MongoDB applied them, so the next read reloads
+ * the committed document instead.
+ *
+ * <p>Every fill is stamped with the write sequence observed before its database
+ * read and is discarded if a write to the same key has happened since, so a slow
+ * read can never re-insert a balance that an invalidation already removed. The
+ * TTL bounds how long another account-service instance's writes can go unseen.
+ */
+@Component
+public class AccountCache {
+    
+    private static final int STRIPES = 4096;
+    private static final String USER_KEY_PREFIX = "user:";
+    
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, CacheEntry<AccountResponse>> accounts = new ConcurrentHashMap<>();
+    private final Map<String, String> idsByNumber = new ConcurrentHashMap<>();
+    private final Map<String, CacheEntry<List<String>>> accountIdsByUser = new ConcurrentHashMap<>();
+    private final Queue<CacheEntry<AccountResponse>> accountOrder = new ConcurrentLinkedQueue<>();
+    private final Queue<CacheEntry<List<String>>> userOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final AtomicLongArray lastWrite = new AtomicLongArray(STRIPES);
+    private final LookupCounters accountLookups;
+    private final LookupCounters numberLookups;
+    private final LookupCounters userLookups;
+    private final Counter expiredEvictions;
+    private final Counter sizeEvictions;
+    private final Counter invalidations;
+    
+    public AccountCache(@Value("${account.cache.max-entries:10000}") int maxEntries,
+                        @Value("${account.cache.ttl:30s}") Duration ttl,
+                        MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.accountLookups = new LookupCounters("account", meterRegistry);
+        this.numberLookups = new LookupCounters("number", meterRegistry);
+        this.userLookups = new LookupCounters("user", meterRegistry);
+        this.expiredEvictions = Counter.builder("account.cache.evictions").tag("cause", "expired")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("account.cache.evictions").tag("cause", "size")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("account.cache.invalidations").register(meterRegistry);
+        Gauge.builder("account.cache.size", accounts, Map::size).tag("cache", "account").register(meterRegistry);
+        Gauge.builder("account.cache.size", accountIdsByUser, Map::size).tag("cache", "user").register(meterRegistry);
+    }
+    
+    public Optional<AccountResponse> getById(String accountId, Supplier<Optional<AccountResponse>> loader) {
+        AccountResponse cached = getIfPresent(accountId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = stamp();
+        Optional<AccountResponse> loaded = loader.get();
+        loaded.ifPresent(account -> fill(account, stamp));
+        return loaded;
+    }
+    
+    public Optional<AccountResponse> getByNumber(String accountNumber, Supplier<Optional<AccountResponse>> loader) {
+        AccountResponse cached = getIfPresentByNumber(accountNumber);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = stamp();
+        Optional<AccountResponse> loaded = loader.get();
+        loaded.ifPresent(account -> fill(account, stamp));
+        return loaded;
+    }
+    
+    public List<AccountResponse> getByUserId(String userId, Supplier<List<AccountResponse>> loader) {
+        List<AccountResponse> cached = getIfPresentByUserId(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = stamp();
+        List<AccountResponse> loaded = loader.get();
+        fillUser(userId, loaded, stamp);
+        return loaded;
+    }
+    
+    public AccountResponse getIfPresent(String accountId) {
+        AccountResponse account = lookup(accountId);
+        accountLookups.record(account != null);
+        return account;
+    }
+    
+    public AccountResponse getIfPresentByNumber(String accountNumber) {
+        String accountId = idsByNumber.get(accountNumber);
+        AccountResponse account = accountId != null ? lookup(accountId) : null;
+        numberLookups.record(account != null);
+        return account;
+    }
+    
+    /**
+     * Returns the user's accounts only if the membership list and every account in
+     * it are cached; a partial hit counts as a miss.
+     */
+    public List<AccountResponse> getIfPresentByUserId(String userId) {
+        List<AccountResponse> result = null;
+        CacheEntry<List<String>> entry = accountIdsByUser.get(userId);
+        if (entry != null && !entry.isExpired(System.nanoTime())) {
+            result = new ArrayList<>(entry.value.size());
+            for (String accountId : entry.value) {
+                AccountResponse account = lookup(accountId);
+                if (account == null) {
+                    result = null;
+                    break;
+                }
+                result.add(account);
+            }
+        }
+        userLookups.record(result != null);
+        return result;
+    }
+    
+    /**
+     * Write sequence to pass to {@link #fill} for a value about to be read from the
+     * database. Must be taken before the read starts.
+     */
+    public long stamp() {
+        return writeSequence.get();
+    }
+    
+    public void fill(AccountResponse account, long stamp) {
+        accounts.compute(account.getId(), (accountId, existing) -> {
+            if (lastWrite.get(stripe(accountId)) > stamp) {
+                return existing;
+            }
+            CacheEntry<AccountResponse> entry = new CacheEntry<>(accountId, account, System.nanoTime() + ttlNanos);
+            accountOrder.add(entry);
+            idsByNumber.put(account.getAccountNumber(), accountId);
+            return entry;
+        });
+        evict(accounts, accountOrder, this::forgetNumber);
+    }
+    
+    public void fillUser(String userId, List<AccountResponse> userAccounts, long stamp) {
+        userAccounts.forEach(account -> fill(account, stamp));
+        List<String> accountIds = userAccounts.stream().map(AccountResponse::getId).toList();
+        accountIdsByUser.compute(userId, (key, existing) -> {
+            if (lastWrite.get(stripe(USER_KEY_PREFIX + userId)) > stamp) {
+                return existing;
+            }
+            CacheEntry<List<String>> entry = new CacheEntry<>(userId, accountIds, System.nanoTime() + ttlNanos);
+            userOrder.add(entry);
+            return entry;
+        });
+        evict(accountIdsByUser, userOrder, accountIdsOfUser -> { });
+    }
+    
+    /**
+     * Drops the given accounts. Call after the write has reached MongoDB, and after
+     * the enclosing transaction has committed if there is one.
+     */
+    public void invalidate(Collection<String> accountIds) {
+        long sequence = writeSequence.incrementAndGet();
+        for (String accountId : accountIds) {
+            lastWrite.accumulateAndGet(stripe(accountId), sequence, Math::max);
+            CacheEntry<AccountResponse> removed = accounts.remove(accountId);
+            if (removed != null) {
+                forgetNumber(removed.value);
+            }
+            invalidations.increment();
+        }
+    }
+    
+    /**
+     * Caches a newly created account and drops its owner's cached account list,
+     * which no longer includes every account.
+     */
+    public void created(AccountResponse account) {
+        fill(account, usersChanged(List.of(account.getUserId())));
+    }
+    
+    /**
+     * Drops the cached account lists of users who gained accounts without caching
+     * the accounts themselves, for bulk imports that would flush the whole cache.
+     * Returns the write sequence of the change.
+     */
+    public long usersChanged(Collection<String> userIds) {
+        long sequence = writeSequence.incrementAndGet();
+        for (String userId : userIds) {
+            lastWrite.accumulateAndGet(stripe(USER_KEY_PREFIX + userId), sequence, Math::max);
+            accountIdsByUser.remove(userId);
+        }
+        return sequence;
+    }
+    
+    public int size() {
+        return accounts.size();
+    }
+    
+    private AccountResponse lookup(String accountId) {
+        CacheEntry<AccountResponse> entry = accounts.get(accountId);
+        return entry != null && !entry.isExpired(System.nanoTime()) ? entry.value : null;
+    }
+    
+    private void forgetNumber(AccountResponse account) {
+        idsByNumber.remove(account.getAccountNumber(), account.getId());
+    }
+    
+    private <V> void evict(Map<String, CacheEntry<V>> entries, Queue<CacheEntry<V>> insertionOrder,
+                           Consumer<V> onRemove) {
+        long now = System.nanoTime();
+        CacheEntry<V> oldest;
+        while ((oldest = insertionOrder.peek()) != null
+                && (oldest.isExpired(now) || entries.size() > maxEntries)) {
+            insertionOrder.poll();
+            if (entries.remove(oldest.key, oldest)) {
+                onRemove.accept(oldest.value);
+                (oldest.isExpired(now) ? expiredEvictions : sizeEvictions).increment();
+            }
+        }
+    }
+    
+    private static int stripe(String key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+    
+    private static class LookupCounters {
+        private final Counter hits;
+        private final Counter misses;
+        
+        LookupCounters(String cache, MeterRegistry meterRegistry) {
+            this.hits = Counter.builder("account.cache.requests").tag("cache", cache).tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("account.cache.requests").tag("cache", cache).tag("result", "miss")
+                    .register(meterRegistry);
+        }
+        
+        void record(boolean hit) {
+            (hit ? hits : misses).increment();
+        }
+    }
+    
+    private static class CacheEntry<V> {
+        private final String key;
+        private final V value;
+        private final long expiresAt;
+        
+        CacheEntry(String key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+        
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
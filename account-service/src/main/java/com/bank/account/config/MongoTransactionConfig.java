@@ -0,0 +1,29 @@
+package com.bank.account.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transfers run in a multi-document transaction, which needs MongoDB running as a
+ * replica set (a single node is enough). Turning them off falls back to a debit
+ * followed by a credit, with the debit returned if the credit fails; a crash
+ * between the two leaves the funds out of both accounts.
+ */
+@Configuration
+@ConditionalOnProperty(name = "account.transactions.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoTransactionConfig {
+    
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+    
+    @Bean
+    public TransactionTemplate transactionTemplate(MongoTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
+}
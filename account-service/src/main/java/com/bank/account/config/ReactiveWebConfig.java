@@ -0,0 +1,50 @@
+package com.bank.account.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Settings for running on WebFlux ({@code reactive} profile). Only the single-account
+ * reads are reactive; the write and bulk endpoints still call the blocking service,
+ * so they are moved off the Netty event loop onto a bounded worker pool.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+    
+    private final int blockingPoolSize;
+    private final boolean virtualThreads;
+    
+    public ReactiveWebConfig(@Value("${account.reactive.blocking-pool-size:200}") int blockingPoolSize,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.blockingPoolSize = blockingPoolSize;
+        this.virtualThreads = virtualThreads;
+    }
+    
+    // Tomcat is still on the classpath for the servlet mode and would otherwise win
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+    
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        if (virtualThreads) {
+            configurer.setExecutor(new VirtualThreadTaskExecutor("account-blocking-"));
+            return;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(blockingPoolSize);
+        executor.setMaxPoolSize(blockingPoolSize);
+        executor.setThreadNamePrefix("account-blocking-");
+        executor.initialize();
+        configurer.setExecutor(executor);
+    }
+}
@@ -10,7 +10,16 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Account creation and bulk balance reads. Balance writes are service-only and live
+ * in {@link InternalAccountController}. The single-account reads live in
+ * {@link AccountQueryController} or {@link ReactiveAccountQueryController}, and bulk
+ * account imports in {@link AccountImportController} or
+ * {@link ReactiveAccountImportController}, depending on which web stack the service
+ * is running on.
+ */
 @RestController
 @RequestMapping("/api/accounts")
 @RequiredArgsConstructor
@@ -25,33 +34,9 @@ public class AccountController {
         return ResponseEntity.ok(response);
     }
     
-    @GetMapping("/user/{userId}")
-    public ResponseEntity<List<AccountResponse>> getAccountsByUserId(@PathVariable String userId) {
-        List<AccountResponse> accounts = accountService.getAccountsByUserId(userId);
-        return ResponseEntity.ok(accounts);
-    }
-    
-    @GetMapping("/{accountId}")
-    public ResponseEntity<AccountResponse> getAccountById(@PathVariable String accountId) {
-        AccountResponse account = accountService.getAccountById(accountId);
-        return ResponseEntity.ok(account);
-    }
-    
-    @GetMapping("/number/{accountNumber}")
-    public ResponseEntity<AccountResponse> getAccountByNumber(@PathVariable String accountNumber) {
-        AccountResponse account = accountService.getAccountByNumber(accountNumber);
-        return ResponseEntity.ok(account);
-    }
-    
-    @GetMapping("/{accountId}/balance")
-    public ResponseEntity<BigDecimal> getBalance(@PathVariable String accountId) {
-        BigDecimal balance = accountService.getBalance(accountId);
-        return ResponseEntity.ok(balance);
-    }
-    
-    @PutMapping("/{accountId}/balance")
-    public ResponseEntity<Void> updateBalance(@PathVariable String accountId, @RequestParam BigDecimal balance) {
-        accountService.updateBalance(accountId, balance);
-        return ResponseEntity.ok().build();
+    @PostMapping("/balances")
+    public ResponseEntity<Map<String, BigDecimal>> getBalances(@RequestBody List<String> accountIds) {
+        Map<String, BigDecimal> balances = accountService.getBalances(accountIds);
+        return ResponseEntity.ok(balances);
     }
 }
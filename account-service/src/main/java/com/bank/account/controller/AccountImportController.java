@@ -0,0 +1,39 @@
+package com.bank.account.controller;
+
+import com.bank.account.dto.BulkCreateAccountsResponse;
+import com.bank.account.dto.CreateAccountRequest;
+import com.bank.account.service.AccountImportService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk account provisioning. Accepts a JSON array or a newline-delimited JSON stream
+ * of {@link CreateAccountRequest}s and reads it incrementally instead of binding the
+ * whole body up front; the response reports the outcome of every row by position.
+ */
+@RestController
+@RequestMapping("/api/accounts")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AccountImportController {
+    
+    private final AccountImportService accountImportService;
+    private final ObjectMapper objectMapper;
+    
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkCreateAccountsResponse> importAccounts(InputStream body) throws IOException {
+        try (MappingIterator<CreateAccountRequest> requests =
+                     objectMapper.readerFor(CreateAccountRequest.class).readValues(body)) {
+            return ResponseEntity.ok(accountImportService.importAccounts(requests));
+        }
+    }
+}
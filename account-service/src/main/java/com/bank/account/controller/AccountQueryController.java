@@ -0,0 +1,45 @@
+package com.bank.account.controller;
+
+import com.bank.account.dto.AccountResponse;
+import com.bank.account.service.AccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/accounts")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AccountQueryController {
+    
+    private final AccountService accountService;
+    
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<AccountResponse>> getAccountsByUserId(@PathVariable String userId) {
+        List<AccountResponse> accounts = accountService.getAccountsByUserId(userId);
+        return ResponseEntity.ok(accounts);
+    }
+    
+    @GetMapping("/{accountId}")
+    public ResponseEntity<AccountResponse> getAccountById(@PathVariable String accountId) {
+        AccountResponse account = accountService.getAccountById(accountId);
+        return ResponseEntity.ok(account);
+    }
+    
+    @GetMapping("/number/{accountNumber}")
+    public ResponseEntity<AccountResponse> getAccountByNumber(@PathVariable String accountNumber) {
+        AccountResponse account = accountService.getAccountByNumber(accountNumber);
+        return ResponseEntity.ok(account);
+    }
+    
+    @GetMapping("/{accountId}/balance")
+    public ResponseEntity<BigDecimal> getBalance(@PathVariable String accountId) {
+        BigDecimal balance = accountService.getBalance(accountId);
+        return ResponseEntity.ok(balance);
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.account.controller;
+
+import com.bank.account.dto.TransferRequest;
+import com.bank.account.service.AccountService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Balance writes, called by transaction-service only. They sit under
+ * {@code /internal}, which the gateway never routes and which
+ * {@code service.auth.protected-paths} closes to callers without the service token.
+ */
+@RestController
+@RequestMapping("/internal/accounts")
+@RequiredArgsConstructor
+public class InternalAccountController {
+    
+    private final AccountService accountService;
+    
+    @PutMapping("/{accountId}/balance")
+    public ResponseEntity<Void> updateBalance(@PathVariable String accountId, @RequestParam BigDecimal balance) {
+        accountService.updateBalance(accountId, balance);
+        return ResponseEntity.ok().build();
+    }
+    
+    @PostMapping("/{accountId}/balance/adjust")
+    public ResponseEntity<BigDecimal> adjustBalance(@PathVariable String accountId, @RequestParam BigDecimal amount) {
+        BigDecimal balance = accountService.adjustBalance(accountId, amount);
+        return ResponseEntity.ok(balance);
+    }
+    
+    @PostMapping("/balances/adjust")
+    public ResponseEntity<Map<String, BigDecimal>> adjustBalances(@RequestBody Map<String, BigDecimal> deltas) {
+        Map<String, BigDecimal> balances = accountService.adjustBalances(deltas);
+        return ResponseEntity.ok(balances);
+    }
+    
+    @PostMapping("/transfer")
+    public ResponseEntity<Map<String, BigDecimal>> transfer(@Valid @RequestBody TransferRequest request) {
+        Map<String, BigDecimal> balances = accountService.transfer(request);
+        return ResponseEntity.ok(balances);
+    }
+}
@@ -0,0 +1,31 @@
+package com.bank.account.controller;
+
+import com.bank.account.dto.BulkCreateAccountsResponse;
+import com.bank.account.dto.CreateAccountRequest;
+import com.bank.account.service.AccountImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * WebFlux counterpart of {@link AccountImportController}. The body is decoded as a
+ * stream of rows; the handler returns a plain value, so it runs on the blocking
+ * executor and pulls rows from the stream as the import consumes them.
+ */
+@RestController
+@RequestMapping("/api/accounts")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAccountImportController {
+    
+    private final AccountImportService accountImportService;
+    
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkCreateAccountsResponse> importAccounts(@RequestBody Flux<CreateAccountRequest> requests) {
+        return ResponseEntity.ok(accountImportService.importAccounts(requests.toIterable().iterator()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.account.controller;
+
+import com.bank.account.dto.AccountResponse;
+import com.bank.account.service.ReactiveAccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link AccountQueryController}, active when the
+ * service runs on WebFlux ({@code reactive} profile). Same paths and responses.
+ */
+@RestController
+@RequestMapping("/api/accounts")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAccountQueryController {
+    
+    private final ReactiveAccountService accountService;
+    
+    @GetMapping("/user/{userId}")
+    public Mono<ResponseEntity<List<AccountResponse>>> getAccountsByUserId(@PathVariable String userId) {
+        return accountService.getAccountsByUserId(userId)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/{accountId}")
+    public Mono<ResponseEntity<AccountResponse>> getAccountById(@PathVariable String accountId) {
+        return accountService.getAccountById(accountId).map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/number/{accountNumber}")
+    public Mono<ResponseEntity<AccountResponse>> getAccountByNumber(@PathVariable String accountNumber) {
+        return accountService.getAccountByNumber(accountNumber).map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/{accountId}/balance")
+    public Mono<ResponseEntity<BigDecimal>> getBalance(@PathVariable String accountId) {
+        return accountService.getBalance(accountId).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,16 @@
+package com.bank.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAccountResult {
+    private int index;
+    private boolean created;
+    private String accountId;
+    private String accountNumber;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.bank.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateAccountsResponse {
+    private int created;
+    private int failed;
+    private List<BulkAccountResult> results;
+}
@@ -0,0 +1,21 @@
+package com.bank.account.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class TransferRequest {
+    @NotBlank(message = "From account ID is required")
+    private String fromAccountId;
+    
+    @NotBlank(message = "To account ID is required")
+    private String toAccountId;
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+}
@@ -4,7 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -19,10 +22,12 @@ public class Account {
     
     private String userId;
     
+    @Indexed(unique = true)
     private String accountNumber;
     
     private String accountType; // SAVINGS, CHECKING, etc.
     
+    @Field(targetType = FieldType.DECIMAL128) // numeric so $inc and range guards work server-side
     private BigDecimal balance = BigDecimal.ZERO;
     
     private String currency = "USD";
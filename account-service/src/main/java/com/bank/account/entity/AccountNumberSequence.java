@@ -0,0 +1,18 @@
+package com.bank.account.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "account_number_sequences")
+public class AccountNumberSequence {
+    @Id
+    private String id;
+    
+    private long next; // First serial not yet handed to any instance
+}
@@ -0,0 +1,86 @@
+package com.bank.account.grpc;
+
+import com.bank.account.exception.InsufficientBalanceException;
+import com.bank.account.rpc.AccountBalancesGrpc;
+import com.bank.account.rpc.AccountRef;
+import com.bank.account.rpc.AccountRefs;
+import com.bank.account.rpc.AdjustBalanceRequest;
+import com.bank.account.rpc.Balance;
+import com.bank.account.rpc.BalanceDeltas;
+import com.bank.account.rpc.Balances;
+import com.bank.account.rpc.Decimals;
+import com.bank.account.rpc.Empty;
+import com.bank.account.rpc.SetBalanceRequest;
+import com.bank.account.service.AccountService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+/**
+ * gRPC twin of the balance endpoints of {@code AccountController}, for callers that
+ * opt into the binary protocol. Errors map onto the statuses the REST endpoints
+ * return: an overdraft is {@code FAILED_PRECONDITION} (409), any other
+ * failure, such as an unknown account, is {@code INVALID_ARGUMENT} (400).
+ */
+public class AccountBalancesRpcService extends AccountBalancesGrpc.AccountBalancesImplBase {
+    
+    private final AccountService accountService;
+    
+    public AccountBalancesRpcService(AccountService accountService) {
+        this.accountService = accountService;
+    }
+    
+    @Override
+    public void getBalance(AccountRef request, StreamObserver<Balance> responseObserver) {
+        respond(responseObserver, () -> balance(accountService.getBalance(request.getAccountId())));
+    }
+    
+    @Override
+    public void updateBalance(SetBalanceRequest request, StreamObserver<Empty> responseObserver) {
+        respond(responseObserver, () -> {
+            accountService.updateBalance(request.getAccountId(), Decimals.fromProto(request.getBalance()));
+            return Empty.getDefaultInstance();
+        });
+    }
+    
+    @Override
+    public void adjustBalance(AdjustBalanceRequest request, StreamObserver<Balance> responseObserver) {
+        respond(responseObserver, () -> balance(
+                accountService.adjustBalance(request.getAccountId(), Decimals.fromProto(request.getAmount()))));
+    }
+    
+    @Override
+    public void getBalances(AccountRefs request, StreamObserver<Balances> responseObserver) {
+        respond(responseObserver, () -> Balances.newBuilder()
+                .putAllBalances(Decimals.toProto(accountService.getBalances(request.getAccountIdsList())))
+                .build());
+    }
+    
+    @Override
+    public void adjustBalances(BalanceDeltas request, StreamObserver<Balances> responseObserver) {
+        respond(responseObserver, () -> Balances.newBuilder()
+                .putAllBalances(Decimals.toProto(accountService.adjustBalances(Decimals.fromProto(request.getDeltasMap()))))
+                .build());
+    }
+    
+    private static Balance balance(BigDecimal balance) {
+        return Balance.newBuilder().setBalance(Decimals.toProto(balance)).build();
+    }
+    
+    private static <T> void respond(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (InsufficientBalanceException e) {
+            responseObserver.onError(Status.FAILED_PRECONDITION.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        } catch (RuntimeException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.account.grpc;
+
+import com.bank.account.service.AccountService;
+import com.bank.common.security.ServiceTokenGrpc;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcServerInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves {@link AccountBalancesRpcService} over HTTP/2 on {@code account.grpc.port},
+ * alongside the web server. Calls must carry the service token, as the balance
+ * writes of the REST API do. Every call is observed, so it is timed as
+ * {@code grpc.server} and continues the caller's trace. The port is advertised to
+ * callers through the {@code grpc-port} Eureka metadata entry.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.grpc.enabled", havingValue = "true")
+public class AccountRpcServer implements SmartLifecycle {
+    
+    private final Server server;
+    private volatile boolean running;
+    
+    public AccountRpcServer(@Value("${account.grpc.port:9082}") int port,
+                            @Value("${service.auth.token}") String serviceToken,
+                            AccountService accountService,
+                            ObservationRegistry observationRegistry) {
+        // Interceptors run last to first, so unauthenticated calls are still observed
+        this.server = NettyServerBuilder.forPort(port)
+                .addService(ServerInterceptors.intercept(new AccountBalancesRpcService(accountService),
+                        ServiceTokenGrpc.serverInterceptor(serviceToken),
+                        new ObservationGrpcServerInterceptor(observationRegistry)))
+                .build();
+    }
+    
+    @Override
+    public void start() {
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start the gRPC server", e);
+        }
+        running = true;
+        log.info("gRPC balance service listening on port {}", server.getPort());
+    }
+    
+    @Override
+    public void stop() {
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(10, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        running = false;
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.account.migration;
+
+import com.bank.account.entity.Account;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts balances written before they were stored as Decimal128 from their old
+ * string encoding, so {@code $inc} and the overdraft guard work on every account.
+ * It runs while the context starts, before the web and gRPC servers take traffic,
+ * as one server-side update; once no string balance is left it changes nothing.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.migration.decimal-balances", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DecimalBalanceMigration {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @PostConstruct
+    public void migrate() {
+        // An update pipeline, so each document is converted from its own value (MongoDB 4.2+)
+        UpdateResult result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Account.class))
+                .updateMany(Filters.type("balance", BsonType.STRING),
+                        List.of(new Document("$set", new Document("balance", new Document("$toDecimal", "$balance")))));
+        if (result.getModifiedCount() > 0) {
+            log.info("Converted {} account balances from strings to Decimal128", result.getModifiedCount());
+        }
+    }
+}
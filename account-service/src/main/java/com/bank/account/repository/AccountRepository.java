@@ -1,6 +1,7 @@
 package com.bank.account.repository;
 
 import com.bank.account.entity.Account;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,8 +9,8 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends MongoRepository<Account, String> {
+public interface AccountRepository extends MongoRepository<Account, String>, AccountRepositoryCustom {
     List<Account> findByUserId(String userId);
     Optional<Account> findByAccountNumber(String accountNumber);
-    boolean existsByAccountNumber(String accountNumber);
+    List<Account> findAllByOrderByUpdatedAtDesc(Pageable pageable);
 }
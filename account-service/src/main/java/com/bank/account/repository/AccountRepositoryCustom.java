@@ -0,0 +1,39 @@
+package com.bank.account.repository;
+
+import com.bank.account.entity.Account;
+import com.mongodb.bulk.BulkWriteError;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface AccountRepositoryCustom {
+    /**
+     * Atomically adds {@code delta} to the account balance. A negative delta is only
+     * applied when the current balance covers it, so the result is empty when the
+     * account does not exist or the guard rejected the debit.
+     */
+    Optional<Account> adjustBalance(String accountId, BigDecimal delta);
+    
+    /**
+     * Applies one guarded delta per account, as {@link #adjustBalance} does, and
+     * returns the new balance of every account whose delta was applied. An account
+     * whose write failed is left out, like a rejected one; the failure is only thrown
+     * when no delta was applied.
+     */
+    Map<String, BigDecimal> adjustBalances(Map<String, BigDecimal> deltas);
+    
+    /**
+     * Atomically reserves {@code count} consecutive account number serials for the
+     * caller and returns the first of them.
+     */
+    long reserveAccountNumbers(int count);
+    
+    /**
+     * Inserts the accounts in a single unordered bulk write, so one rejected document
+     * does not stop the rest. Returns the write errors of the rejected documents,
+     * indexed by their position in {@code accounts}; empty when all were inserted.
+     */
+    List<BulkWriteError> insertUnordered(List<Account> accounts);
+}
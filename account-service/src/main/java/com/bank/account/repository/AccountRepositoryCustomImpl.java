@@ -0,0 +1,149 @@
+package com.bank.account.repository;
+
+import com.bank.account.entity.Account;
+import com.bank.account.entity.AccountNumberSequence;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+public class AccountRepositoryCustomImpl implements AccountRepositoryCustom {
+    
+    private static final String ACCOUNT_NUMBER_SEQUENCE = "accountNumber";
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+    
+    private final MongoTemplate mongoTemplate;
+    private final int adjustConcurrency;
+    
+    public AccountRepositoryCustomImpl(MongoTemplate mongoTemplate,
+                                       @Value("${account.bulk.adjust-concurrency:64}") int adjustConcurrency) {
+        this.mongoTemplate = mongoTemplate;
+        this.adjustConcurrency = adjustConcurrency;
+    }
+    
+    @Override
+    public Optional<Account> adjustBalance(String accountId, BigDecimal delta) {
+        Account account = mongoTemplate.findAndModify(
+                guardedQuery(accountId, delta),
+                balanceUpdate(delta),
+                FindAndModifyOptions.options().returnNew(true),
+                Account.class);
+        return Optional.ofNullable(account);
+    }
+    
+    /**
+     * Each account gets its own guarded findAndModify, so whether a delta landed and
+     * the balance it left come from that write alone, whatever other instances are
+     * doing to the same accounts. The writes run side by side on virtual threads, up
+     * to {@code adjustConcurrency} at once, so a batch costs about one round trip
+     * rather than one per account.
+     * <p>
+     * The writes are independent, so a failed one does not undo the others. Once any
+     * delta has landed the failures are only logged, and the failed accounts are left
+     * out of the result like rejected ones, so the caller reverts what did apply. Only
+     * when no delta landed is the failure thrown.
+     */
+    @Override
+    public Map<String, BigDecimal> adjustBalances(Map<String, BigDecimal> deltas) {
+        Map<String, BigDecimal> balances = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(adjustConcurrency);
+        // Carries the caller's trace context, so each write's MongoDB span joins the request's trace
+        ContextSnapshot context = CONTEXT_SNAPSHOTS.captureAll();
+        List<Future<?>> writes = new ArrayList<>(deltas.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            deltas.forEach((accountId, delta) -> writes.add(executor.submit(context.wrap(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    adjustBalance(accountId, delta).ifPresent(account -> balances.put(accountId, account.getBalance()));
+                } finally {
+                    permits.release();
+                }
+            }))));
+        }
+        
+        RuntimeException failure = null;
+        int failed = 0;
+        for (Future<?> write : writes) {
+            if (write.state() == Future.State.FAILED) {
+                failed++;
+                Throwable cause = write.exceptionNow();
+                RuntimeException error = cause instanceof RuntimeException e ? e : new IllegalStateException(cause);
+                if (failure == null) {
+                    failure = error;
+                } else {
+                    failure.addSuppressed(error);
+                }
+            }
+        }
+        if (failure != null) {
+            if (balances.isEmpty()) {
+                throw failure;
+            }
+            log.warn("{} of {} balance adjustments failed; returning the {} that applied so they can be reverted",
+                    failed, deltas.size(), balances.size(), failure);
+        }
+        return new HashMap<>(balances);
+    }
+    
+    @Override
+    public long reserveAccountNumbers(int count) {
+        AccountNumberSequence sequence = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(ACCOUNT_NUMBER_SEQUENCE)),
+                new Update().inc("next", count),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                AccountNumberSequence.class);
+        return sequence.getNext() - count;
+    }
+    
+    @Override
+    public List<BulkWriteError> insertUnordered(List<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return List.of();
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Account.class)
+                    .insert(accounts)
+                    .execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors();
+        }
+    }
+    
+    private Query guardedQuery(String accountId, BigDecimal delta) {
+        Criteria criteria = Criteria.where("_id").is(accountId);
+        if (delta.signum() < 0) {
+            criteria = criteria.and("balance").gte(new Decimal128(delta.negate()));
+        }
+        return new Query(criteria);
+    }
+    
+    private Update balanceUpdate(BigDecimal delta) {
+        return new Update()
+                .inc("balance", new Decimal128(delta))
+                .set("updatedAt", LocalDateTime.now());
+    }
+}
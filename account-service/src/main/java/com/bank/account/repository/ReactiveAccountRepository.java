@@ -0,0 +1,13 @@
+package com.bank.account.repository;
+
+import com.bank.account.entity.Account;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveAccountRepository extends ReactiveMongoRepository<Account, String> {
+    Flux<Account> findByUserId(String userId);
+    Mono<Account> findByAccountNumber(String accountNumber);
+}
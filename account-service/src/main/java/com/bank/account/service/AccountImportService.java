@@ -0,0 +1,164 @@
+package com.bank.account.service;
+
+import com.bank.account.cache.AccountCache;
+import com.bank.account.dto.BulkAccountResult;
+import com.bank.account.dto.BulkCreateAccountsResponse;
+import com.bank.account.dto.CreateAccountRequest;
+import com.bank.account.entity.Account;
+import com.bank.account.repository.AccountRepository;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates accounts in bulk. Rows are consumed from the iterator one chunk at a time,
+ * so an import of any size holds at most one chunk of requests in memory; each chunk
+ * takes its account numbers in one counter round trip and is written with one
+ * unordered bulk insert. Rows fail individually; a row that cannot be parsed
+ * ends the import, keeping everything before it.
+ */
+@Slf4j
+@Service
+public class AccountImportService {
+    
+    private static final int MAX_ACCOUNT_NUMBER_ATTEMPTS = 3;
+    
+    private final AccountRepository accountRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountCache accountCache;
+    private final Validator validator;
+    private final int chunkSize;
+    
+    public AccountImportService(AccountRepository accountRepository,
+                                AccountNumberAllocator accountNumberAllocator,
+                                AccountCache accountCache,
+                                Validator validator,
+                                @Value("${account.bulk.chunk-size:1000}") int chunkSize) {
+        this.accountRepository = accountRepository;
+        this.accountNumberAllocator = accountNumberAllocator;
+        this.accountCache = accountCache;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+    
+    public BulkCreateAccountsResponse importAccounts(Iterator<CreateAccountRequest> requests) {
+        List<BulkAccountResult> results = new ArrayList<>();
+        List<PendingAccount> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            CreateAccountRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (RuntimeException e) {
+                // A malformed row leaves no reliable place to resume, so it ends the import
+                results.add(new BulkAccountResult(index, false, null, null, "Malformed row: " + e.getMessage()));
+                break;
+            }
+            String violation = validate(request);
+            if (violation != null) {
+                results.add(new BulkAccountResult(index, false, null, null, violation));
+            } else {
+                chunk.add(new PendingAccount(index, newAccount(request)));
+                if (chunk.size() == chunkSize) {
+                    insertChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+            index++;
+        }
+        insertChunk(chunk, results);
+        
+        results.sort(Comparator.comparingInt(BulkAccountResult::getIndex));
+        int created = (int) results.stream().filter(BulkAccountResult::isCreated).count();
+        log.info("Imported {} of {} accounts", created, results.size());
+        return new BulkCreateAccountsResponse(created, results.size() - created, results);
+    }
+    
+    private void insertChunk(List<PendingAccount> chunk, List<BulkAccountResult> results) {
+        List<PendingAccount> pending = chunk;
+        Set<String> userIds = new HashSet<>();
+        try {
+            for (int attempt = 1; !pending.isEmpty(); attempt++) {
+                List<String> accountNumbers = accountNumberAllocator.allocate(pending.size());
+                for (int i = 0; i < pending.size(); i++) {
+                    pending.get(i).account().setAccountNumber(accountNumbers.get(i));
+                }
+                
+                List<BulkWriteError> errors = accountRepository.insertUnordered(
+                        pending.stream().map(PendingAccount::account).toList());
+                List<PendingAccount> retry = new ArrayList<>();
+                Set<Integer> rejected = new HashSet<>();
+                for (BulkWriteError error : errors) {
+                    PendingAccount row = pending.get(error.getIndex());
+                    rejected.add(error.getIndex());
+                    // Only possible against numbers issued before the allocator, so a retry lands on a free one
+                    if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY
+                            && attempt < MAX_ACCOUNT_NUMBER_ATTEMPTS) {
+                        retry.add(row);
+                    } else {
+                        results.add(new BulkAccountResult(row.index(), false, null, null, error.getMessage()));
+                    }
+                }
+                for (int i = 0; i < pending.size(); i++) {
+                    if (!rejected.contains(i)) {
+                        Account account = pending.get(i).account();
+                        userIds.add(account.getUserId());
+                        results.add(new BulkAccountResult(
+                                pending.get(i).index(), true, account.getId(), account.getAccountNumber(), null));
+                    }
+                }
+                pending = retry;
+            }
+        } finally {
+            if (!userIds.isEmpty()) {
+                accountCache.usersChanged(userIds);
+            }
+        }
+    }
+    
+    private String validate(CreateAccountRequest request) {
+        Set<ConstraintViolation<CreateAccountRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+    
+    private static Account newAccount(CreateAccountRequest request) {
+        Account account = new Account();
+        // Ids are assigned here because bulk inserts do not write generated ids back
+        account.setId(new ObjectId().toHexString());
+        account.setUserId(request.getUserId());
+        account.setAccountType(request.getAccountType());
+        account.setBalance(BigDecimal.ZERO);
+        account.setCurrency(request.getCurrency());
+        account.setActive(true);
+        account.setCreatedAt(LocalDateTime.now());
+        account.setUpdatedAt(LocalDateTime.now());
+        return account;
+    }
+    
+    private record PendingAccount(int index, Account account) {
+    }
+}
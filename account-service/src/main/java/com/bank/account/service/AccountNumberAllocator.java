@@ -0,0 +1,92 @@
+package com.bank.account.service;
+
+import com.bank.account.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out account numbers from blocks reserved in the {@code account_number_sequences}
+ * counter (hi/lo), so creating an account normally costs no extra query. Numbers are
+ * ten digits: a nine-digit serial followed by a Luhn check digit. Serials left in a
+ * block when the instance stops are never reused, so numbers are unique but not
+ * gap-free.
+ */
+@Component
+public class AccountNumberAllocator {
+    
+    // Keeps every number at ten significant digits, as the random numbers were
+    private static final long FIRST_SERIAL = 100_000_000L;
+    private static final long LAST_SERIAL = 999_999_999L;
+    
+    private final AccountRepository accountRepository;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextSerial;
+    private long blockEnd;
+    
+    public AccountNumberAllocator(AccountRepository accountRepository,
+                                  @Value("${account.number.block-size:1000}") int blockSize) {
+        this.accountRepository = accountRepository;
+        this.blockSize = blockSize;
+    }
+    
+    public String nextAccountNumber() {
+        long serial;
+        lock.lock();
+        try {
+            if (nextSerial == blockEnd) {
+                nextSerial = FIRST_SERIAL + accountRepository.reserveAccountNumbers(blockSize);
+                blockEnd = nextSerial + blockSize;
+            }
+            serial = nextSerial++;
+        } finally {
+            lock.unlock();
+        }
+        return format(serial);
+    }
+    
+    /**
+     * Reserves {@code count} numbers in a single counter round trip, bypassing the
+     * shared block, for callers that create accounts in bulk.
+     */
+    public List<String> allocate(int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        long firstSerial = FIRST_SERIAL + accountRepository.reserveAccountNumbers(count);
+        List<String> accountNumbers = new ArrayList<>(count);
+        for (long serial = firstSerial; serial < firstSerial + count; serial++) {
+            accountNumbers.add(format(serial));
+        }
+        return accountNumbers;
+    }
+    
+    private static String format(long serial) {
+        if (serial > LAST_SERIAL) {
+            throw new IllegalStateException("Account number space exhausted");
+        }
+        String payload = Long.toString(serial);
+        return payload + checkDigit(payload);
+    }
+    
+    static int checkDigit(String payload) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int digit = payload.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -1,28 +1,52 @@
 package com.bank.account.service;
 
+import com.bank.account.cache.AccountCache;
 import com.bank.account.dto.AccountResponse;
 import com.bank.account.dto.CreateAccountRequest;
+import com.bank.account.dto.TransferRequest;
 import com.bank.account.entity.Account;
+import com.bank.account.exception.InsufficientBalanceException;
 import com.bank.account.repository.AccountRepository;
+import com.mongodb.MongoException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AccountService {
     
+    private static final int MAX_ACCOUNT_NUMBER_ATTEMPTS = 3;
+    
     private final AccountRepository accountRepository;
+    private final ObjectProvider<TransactionTemplate> transactionTemplate;
+    private final AccountCache accountCache;
+    private final AccountNumberAllocator accountNumberAllocator;
+    
+    @Value("${account.cache.warm-up-size:0}")
+    private int cacheWarmUpSize;
+    
+    @Value("${account.transactions.max-attempts:3}")
+    private int transactionMaxAttempts;
     
     public AccountResponse createAccount(CreateAccountRequest request) {
         Account account = new Account();
         account.setUserId(request.getUserId());
-        account.setAccountNumber(generateAccountNumber());
         account.setAccountType(request.getAccountType());
         account.setBalance(BigDecimal.ZERO);
         account.setCurrency(request.getCurrency());
@@ -30,33 +54,37 @@ public class AccountService {
         account.setCreatedAt(LocalDateTime.now());
         account.setUpdatedAt(LocalDateTime.now());
         
-        Account savedAccount = accountRepository.save(account);
-        return mapToResponse(savedAccount);
+        Account savedAccount = saveWithNewAccountNumber(account);
+        AccountResponse response = mapToResponse(savedAccount);
+        accountCache.created(response);
+        return response;
     }
     
     public List<AccountResponse> getAccountsByUserId(String userId) {
-        List<Account> accounts = accountRepository.findByUserId(userId);
-        return accounts.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return accountCache.getByUserId(userId, () -> accountRepository.findByUserId(userId).stream()
+                .map(AccountService::mapToResponse)
+                .collect(Collectors.toList()));
     }
     
     public AccountResponse getAccountById(String accountId) {
-        Account account = accountRepository.findById(accountId)
+        return accountCache.getById(accountId,
+                        () -> accountRepository.findById(accountId).map(AccountService::mapToResponse))
                 .orElseThrow(() -> new RuntimeException("Account not found"));
-        return mapToResponse(account);
     }
     
     public AccountResponse getAccountByNumber(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        return accountCache.getByNumber(accountNumber,
+                        () -> accountRepository.findByAccountNumber(accountNumber).map(AccountService::mapToResponse))
                 .orElseThrow(() -> new RuntimeException("Account not found"));
-        return mapToResponse(account);
     }
     
     public BigDecimal getBalance(String accountId) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new RuntimeException("Account not found"));
-        return account.getBalance();
+        return getAccountById(accountId).getBalance();
+    }
+    
+    public Map<String, BigDecimal> getBalances(List<String> accountIds) {
+        return accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, Account::getBalance));
     }
     
     public void updateBalance(String accountId, BigDecimal newBalance) {
@@ -64,18 +92,141 @@ public class AccountService {
                 .orElseThrow(() -> new RuntimeException("Account not found"));
         account.setBalance(newBalance);
         account.setUpdatedAt(LocalDateTime.now());
-        accountRepository.save(account);
+        try {
+            accountRepository.save(account);
+        } finally {
+            accountCache.invalidate(List.of(accountId));
+        }
+    }
+    
+    public BigDecimal adjustBalance(String accountId, BigDecimal delta) {
+        try {
+            return accountRepository.adjustBalance(accountId, delta)
+                    .map(Account::getBalance)
+                    .orElseThrow(() -> {
+                        if (!accountRepository.existsById(accountId)) {
+                            return new RuntimeException("Account not found");
+                        }
+                        return new InsufficientBalanceException("Insufficient balance");
+                    });
+        } finally {
+            accountCache.invalidate(List.of(accountId));
+        }
+    }
+    
+    public Map<String, BigDecimal> transfer(TransferRequest request) {
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new RuntimeException("Cannot transfer to the same account");
+        }
+        
+        TransactionTemplate template = transactionTemplate.getIfAvailable();
+        try {
+            if (template != null) {
+                return transferInTransaction(template, request);
+            }
+            return applyTransfer(request, true);
+        } finally {
+            // Entries refilled while the transaction was open saw the pre-commit balances
+            accountCache.invalidate(List.of(request.getFromAccountId(), request.getToAccountId()));
+        }
+    }
+    
+    public Map<String, BigDecimal> adjustBalances(Map<String, BigDecimal> deltas) {
+        try {
+            return accountRepository.adjustBalances(deltas);
+        } finally {
+            accountCache.invalidate(deltas.keySet());
+        }
+    }
+    
+    /**
+     * Preloads the most recently updated accounts so the first dashboard and
+     * transaction reads after a restart are served from memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpCache() {
+        if (cacheWarmUpSize <= 0) {
+            return;
+        }
+        long stamp = accountCache.stamp();
+        List<Account> accounts = accountRepository.findAllByOrderByUpdatedAtDesc(PageRequest.of(0, cacheWarmUpSize));
+        accounts.forEach(account -> accountCache.fill(mapToResponse(account), stamp));
+        log.info("Warmed account cache with {} accounts", accounts.size());
+    }
+    
+    private Map<String, BigDecimal> transferInTransaction(TransactionTemplate template, TransferRequest request) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return template.execute(status -> applyTransfer(request, false));
+            } catch (RuntimeException e) {
+                // The transaction was aborted as a whole (write conflict, election), so running it again is safe
+                if (attempt == transactionMaxAttempts || !isTransientTransactionError(e)) {
+                    throw e;
+                }
+                log.debug("Retrying transfer from {} to {} after a transient transaction error (attempt {}): {}",
+                        request.getFromAccountId(), request.getToAccountId(), attempt, e.toString());
+            }
+        }
+    }
+    
+    private static boolean isTransientTransactionError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private Map<String, BigDecimal> applyTransfer(TransferRequest request, boolean compensate) {
+        BigDecimal fromBalance = adjustBalance(request.getFromAccountId(), request.getAmount().negate());
+        BigDecimal toBalance;
+        try {
+            toBalance = adjustBalance(request.getToAccountId(), request.getAmount());
+        } catch (RuntimeException e) {
+            // Outside a transaction the debit has already landed, so hand the funds back
+            if (compensate) {
+                returnDebit(request, e);
+            }
+            throw e;
+        }
+        
+        Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        balances.put(request.getFromAccountId(), fromBalance);
+        balances.put(request.getToAccountId(), toBalance);
+        return balances;
+    }
+    
+    private void returnDebit(TransferRequest request, RuntimeException failure) {
+        try {
+            if (accountRepository.adjustBalance(request.getFromAccountId(), request.getAmount()).isEmpty()) {
+                throw new IllegalStateException("Account " + request.getFromAccountId() + " no longer exists");
+            }
+        } catch (RuntimeException e) {
+            // The caller still sees the credit failure; the lost refund travels with it and is logged for repair
+            failure.addSuppressed(e);
+            log.error("Transfer of {} from {} to {} failed after the debit and the debit could not be returned; "
+                            + "{} must be credited by hand", request.getAmount(), request.getFromAccountId(),
+                    request.getToAccountId(), request.getFromAccountId(), failure);
+        }
     }
     
-    private String generateAccountNumber() {
-        String accountNumber;
-        do {
-            accountNumber = String.format("%010d", new Random().nextInt(1000000000));
-        } while (accountRepository.existsByAccountNumber(accountNumber));
-        return accountNumber;
+    private Account saveWithNewAccountNumber(Account account) {
+        for (int attempt = 1; ; attempt++) {
+            account.setAccountNumber(accountNumberAllocator.nextAccountNumber());
+            try {
+                return accountRepository.save(account);
+            } catch (DuplicateKeyException e) {
+                // Only possible against numbers issued before the allocator, so a retry lands on a free one
+                if (attempt == MAX_ACCOUNT_NUMBER_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
     }
     
-    private AccountResponse mapToResponse(Account account) {
+    static AccountResponse mapToResponse(Account account) {
         return new AccountResponse(
                 account.getId(),
                 account.getUserId(),
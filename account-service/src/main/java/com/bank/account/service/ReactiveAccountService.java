@@ -0,0 +1,71 @@
+package com.bank.account.service;
+
+import com.bank.account.cache.AccountCache;
+import com.bank.account.dto.AccountResponse;
+import com.bank.account.entity.Account;
+import com.bank.account.repository.ReactiveAccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Read-only account lookups on the reactive MongoDB driver. Errors match
+ * {@link AccountService} so both web stacks answer the same way, and both read
+ * through the same {@link AccountCache}.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAccountService {
+    
+    private final ReactiveAccountRepository accountRepository;
+    private final AccountCache accountCache;
+    
+    public Flux<AccountResponse> getAccountsByUserId(String userId) {
+        return Flux.defer(() -> {
+            List<AccountResponse> cached = accountCache.getIfPresentByUserId(userId);
+            if (cached != null) {
+                return Flux.fromIterable(cached);
+            }
+            long stamp = accountCache.stamp();
+            return accountRepository.findByUserId(userId)
+                    .map(AccountService::mapToResponse)
+                    .collectList()
+                    .doOnNext(accounts -> accountCache.fillUser(userId, accounts, stamp))
+                    .flatMapIterable(accounts -> accounts);
+        });
+    }
+    
+    public Mono<AccountResponse> getAccountById(String accountId) {
+        return readThrough(() -> accountCache.getIfPresent(accountId), () -> accountRepository.findById(accountId));
+    }
+    
+    public Mono<AccountResponse> getAccountByNumber(String accountNumber) {
+        return readThrough(() -> accountCache.getIfPresentByNumber(accountNumber),
+                () -> accountRepository.findByAccountNumber(accountNumber));
+    }
+    
+    public Mono<BigDecimal> getBalance(String accountId) {
+        return getAccountById(accountId).map(AccountResponse::getBalance);
+    }
+    
+    private Mono<AccountResponse> readThrough(Supplier<AccountResponse> cached, Supplier<Mono<Account>> lookup) {
+        return Mono.defer(() -> {
+            AccountResponse account = cached.get();
+            if (account != null) {
+                return Mono.just(account);
+            }
+            long stamp = accountCache.stamp();
+            return lookup.get()
+                    .switchIfEmpty(Mono.error(() -> new RuntimeException("Account not found")))
+                    .map(AccountService::mapToResponse)
+                    .doOnNext(loaded -> accountCache.fill(loaded, stamp));
+        });
+    }
+}
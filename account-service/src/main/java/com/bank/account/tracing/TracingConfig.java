@@ -0,0 +1,45 @@
+package com.bank.account.tracing;
+
+import com.bank.common.tracing.SpanExporterConfig;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Tracing beyond what Spring Boot configures on its own. Boot traces incoming
+ * requests on both web stacks and continues the caller's W3C {@code traceparent};
+ * this adds a span per MongoDB command, blocking or reactive, and imports the
+ * shared local span sink ({@link SpanExporterConfig}).
+ */
+@Configuration
+@Import(SpanExporterConfig.class)
+public class TracingConfig {
+    
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTracingCustomizer(ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+    
+    // Scrapes and health checks would otherwise fill the sampled traces
+    @Bean
+    public ObservationPredicate ignoreActuatorRequests() {
+        return (name, context) -> {
+            if (context instanceof ServerRequestObservationContext servletContext) {
+                return !servletContext.getCarrier().getRequestURI().startsWith("/actuator");
+            }
+            if (context instanceof org.springframework.http.server.reactive.observation.ServerRequestObservationContext
+                    reactiveContext) {
+                return !reactiveContext.getCarrier().getPath().value().startsWith("/actuator");
+            }
+            return true;
+        };
+    }
+}
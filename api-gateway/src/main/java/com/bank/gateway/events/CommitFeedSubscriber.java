@@ -0,0 +1,212 @@
+package com.bank.gateway.events;
+
+import com.bank.common.security.ServiceToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the commit feed of every transaction-service instance and hands each
+ * transaction and balance to the {@link UserEventBus}. Commits are made on
+ * whichever instance served the request, so the gateway holds one connection per
+ * instance, found through discovery. When a feed drops and is reopened the
+ * commits made in between are lost, so every stream is told to resync.
+ */
+@Component
+public class CommitFeedSubscriber {
+    
+    private static final Logger log = LoggerFactory.getLogger(CommitFeedSubscriber.class);
+    private static final Duration DISCOVERY_TIMEOUT = Duration.ofSeconds(10);
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() { };
+    
+    private final UserEventBus userEventBus;
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final ObjectMapper objectMapper;
+    // Decimal balances keep their scale on the way through
+    private final ObjectReader commitReader;
+    private final WebClient webClient = WebClient.create();
+    private final String serviceId;
+    private final String path;
+    private final String serviceToken;
+    private final Duration refreshInterval;
+    private final Duration idleTimeout;
+    private final Counter droppedFeeds;
+    // Keyed by instance URI and only touched by the discovery sequence, which never overlaps itself
+    private final Map<String, Feed> feeds = new HashMap<>();
+    private Disposable discovery;
+    
+    public CommitFeedSubscriber(UserEventBus userEventBus,
+                                ReactiveDiscoveryClient discoveryClient,
+                                ObjectMapper objectMapper,
+                                @Value("${gateway.events.feed.service-id:transaction-service}") String serviceId,
+                                @Value("${gateway.events.feed.path:/internal/commits}") String path,
+                                @Value("${service.auth.token}") String serviceToken,
+                                @Value("${gateway.events.feed.refresh-interval:5s}") Duration refreshInterval,
+                                @Value("${gateway.events.feed.idle-timeout:45s}") Duration idleTimeout,
+                                MeterRegistry meterRegistry) {
+        this.userEventBus = userEventBus;
+        this.discoveryClient = discoveryClient;
+        this.objectMapper = objectMapper;
+        this.commitReader = objectMapper.reader()
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .without(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES);
+        this.serviceId = serviceId;
+        this.path = path;
+        this.serviceToken = serviceToken;
+        this.refreshInterval = refreshInterval;
+        this.idleTimeout = idleTimeout;
+        this.droppedFeeds = Counter.builder("gateway.events.feed.drops")
+                .description("Commit feed connections that ended and had to be reopened")
+                .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        discovery = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> discoveryClient.getInstances(serviceId)
+                        .collectList()
+                        .timeout(DISCOVERY_TIMEOUT)
+                        .onErrorResume(e -> {
+                            log.warn("Could not look up {} instances; keeping the current feeds: {}", serviceId,
+                                    e.toString());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe(this::reconcile);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (discovery != null) {
+            discovery.dispose();
+        }
+        feeds.values().forEach(feed -> feed.connection.dispose());
+    }
+    
+    private void reconcile(List<ServiceInstance> instances) {
+        Set<String> live = new HashSet<>();
+        for (ServiceInstance instance : instances) {
+            String uri = instance.getUri().toString();
+            live.add(uri);
+            Feed feed = feeds.get(uri);
+            if (feed == null || feed.closed) {
+                // Resync owed by a dropped feed carries over attempts that never got connected
+                feeds.put(uri, open(uri, feed != null && (feed.connected || feed.resyncPending)));
+            }
+        }
+        feeds.entrySet().removeIf(entry -> {
+            if (live.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().connection.dispose();
+            return true;
+        });
+    }
+    
+    private Feed open(String uri, boolean reopened) {
+        Feed feed = new Feed(reopened);
+        feed.connection = webClient.get()
+                .uri(uri + path)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header(ServiceToken.HEADER, serviceToken)
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE)
+                // The feed sends a heartbeat well inside this, so silence means the connection is dead
+                .timeout(idleTimeout)
+                .doFinally(signal -> feed.closed = true)
+                .subscribe(event -> onEvent(feed, event), e -> {
+                    if (feed.connected) {
+                        droppedFeeds.increment();
+                        log.warn("Commit feed from {} ended; reopening: {}", uri, e.toString());
+                    } else {
+                        log.debug("Could not open commit feed from {}: {}", uri, e.toString());
+                    }
+                }, () -> droppedFeeds.increment());
+        return feed;
+    }
+    
+    private void onEvent(Feed feed, ServerSentEvent<String> event) {
+        feed.connected = true;
+        if (feed.resyncPending) {
+            feed.resyncPending = false;
+            userEventBus.resync();
+        }
+        if ("commit".equals(event.event()) && event.data() != null) {
+            publishCommit(event.data());
+        } else if ("resync".equals(event.event())) {
+            userEventBus.resync();
+        }
+    }
+    
+    private void publishCommit(String data) {
+        JsonNode commit;
+        try {
+            commit = commitReader.readTree(data);
+        } catch (IOException e) {
+            log.warn("Skipping unreadable commit event: {}", e.toString());
+            return;
+        }
+        
+        // Events are only encoded for accounts someone on this gateway is watching
+        for (JsonNode transaction : commit.path("transactions")) {
+            String accountId = transaction.path("accountId").asText();
+            String toAccountId = transaction.path("toAccountId").textValue();
+            if (userEventBus.isWatched(accountId) || (toAccountId != null && userEventBus.isWatched(toAccountId))) {
+                userEventBus.publish(ServerSentEvent.builder(transaction.toString()).event("transaction").build(),
+                        accountId, toAccountId);
+            }
+        }
+        commit.path("balances").fields().forEachRemaining(entry -> {
+            if (userEventBus.isWatched(entry.getKey())) {
+                ObjectNode balance = objectMapper.createObjectNode();
+                balance.put("accountId", entry.getKey());
+                balance.set("balance", entry.getValue());
+                userEventBus.publish(ServerSentEvent.builder(balance.toString()).event("balance").build(),
+                        entry.getKey());
+            }
+        });
+    }
+    
+    private static final class Feed {
+        
+        private volatile boolean closed;
+        // Read and written only by the feed's own event sequence
+        private boolean connected;
+        private boolean resyncPending;
+        private Disposable connection;
+        
+        private Feed(boolean resyncPending) {
+            this.resyncPending = resyncPending;
+        }
+    }
+}
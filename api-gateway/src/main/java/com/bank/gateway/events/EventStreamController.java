@@ -0,0 +1,75 @@
+package com.bank.gateway.events;
+
+import com.bank.gateway.filter.JwtAuthenticationFilter;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Live balance and transaction events for the caller's accounts, held open on the
+ * gateway's event loop. It is reached through the {@code /api/events} route, whose
+ * {@link JwtAuthenticationFilter} verifies the token and forwards here; requests
+ * that arrive without verified claims are refused. The caller's accounts are looked
+ * up when the stream opens and again on every resync. Streams end when the token
+ * expires, and the client reconnects with a fresh one.
+ */
+@RestController
+public class EventStreamController {
+    
+    private static final Duration ACCOUNT_LOOKUP_TIMEOUT = Duration.ofSeconds(5);
+    
+    private final UserEventBus userEventBus;
+    private final WebClient webClient;
+    private final String accountsUrl;
+    
+    public EventStreamController(UserEventBus userEventBus,
+                                 ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                                 @Value("${gateway.events.accounts-url:http://account-service/api/accounts/user/{userId}}")
+                                 String accountsUrl) {
+        this.userEventBus = userEventBus;
+        this.webClient = WebClient.builder().filter(loadBalancer).build();
+        this.accountsUrl = accountsUrl;
+    }
+    
+    @GetMapping(path = "/events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamEvents(ServerWebExchange exchange) {
+        Claims claims = exchange.getAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE);
+        String userId = claims != null ? claims.get("userId", String.class) : null;
+        if (userId == null) {
+            return Flux.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+        }
+        Duration untilExpiry = claims.getExpiration() != null
+                ? Duration.ofMillis(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()))
+                : null;
+        
+        // Run again whenever the stream resyncs, to pick up accounts opened since
+        Mono<List<String>> accountLookup = webClient.get()
+                .uri(accountsUrl, userId)
+                .retrieve()
+                .bodyToFlux(AccountSummary.class)
+                .map(AccountSummary::id)
+                .collectList()
+                .timeout(ACCOUNT_LOOKUP_TIMEOUT);
+        Flux<ServerSentEvent<String>> events = accountLookup
+                .onErrorMap(e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Could not load accounts", e))
+                .flatMapMany(accountIds -> userEventBus.subscribe(accountIds, accountLookup));
+        return untilExpiry != null ? events.takeUntilOther(Mono.delay(untilExpiry)) : events;
+    }
+    
+    record AccountSummary(String id) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.bank.gateway.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process fan-out from the commit feeds to the browsers connected to this
+ * gateway. Streams are indexed by the accounts they watch, so publishing an event
+ * touches only the streams it is meant for. Each stream buffers a bounded number
+ * of events; one that falls further behind is completed rather than allowed to
+ * grow, and the client reconnects and reloads its state.
+ */
+@Component
+public class UserEventBus {
+    
+    /** Sent first on every stream, once it is registered; state fetched after it cannot miss an event. */
+    static final ServerSentEvent<String> READY = ServerSentEvent.builder("").event("ready").build();
+    /** Tells a stream that events may have been lost and state should be fetched again. */
+    static final ServerSentEvent<String> RESYNC = ServerSentEvent.builder("").event("resync").build();
+    private static final ServerSentEvent<String> KEEPALIVE = ServerSentEvent.<String>builder().comment("keepalive").build();
+    
+    private final Map<String, Set<Stream>> streamsByAccount = new ConcurrentHashMap<>();
+    private final Set<Stream> streams = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+    private final Counter overflows;
+    private Disposable heartbeats;
+    
+    public UserEventBus(@Value("${gateway.events.buffer-size:256}") int bufferSize,
+                        @Value("${gateway.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+                        MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.overflows = Counter.builder("gateway.events.overflows")
+                .description("Event streams closed because the client could not keep up")
+                .register(meterRegistry);
+        Gauge.builder("gateway.events.streams", streams, Set::size)
+                .description("Event streams open on this gateway")
+                .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // One timer for every connection keeps idle streams open through proxies
+        heartbeats = Flux.interval(heartbeatInterval)
+                .onBackpressureDrop()
+                .subscribe(tick -> streams.forEach(stream -> stream.emit(KEEPALIVE)));
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (heartbeats != null) {
+            heartbeats.dispose();
+        }
+        streams.forEach(Stream::complete);
+    }
+    
+    /**
+     * Opens a stream of the events for the given accounts. It is registered when
+     * subscribed to and unregistered when the client goes away. {@code accountLookup}
+     * is run again on every {@link #resync()}, so accounts opened since the stream
+     * started are watched from then on.
+     */
+    public Flux<ServerSentEvent<String>> subscribe(Collection<String> accountIds,
+                                                   Mono<? extends Collection<String>> accountLookup) {
+        Stream stream = new Stream(Set.copyOf(accountIds), accountLookup,
+                Sinks.many().unicast().onBackpressureBuffer(Queues.<ServerSentEvent<String>>get(bufferSize).get()));
+        return Flux.defer(() -> {
+                    register(stream);
+                    stream.emit(READY);
+                    return stream.sink.asFlux();
+                })
+                .doFinally(signal -> unregister(stream));
+    }
+    
+    public void publish(ServerSentEvent<String> event, String accountId) {
+        Set<Stream> targets = streamsByAccount.get(accountId);
+        if (targets != null) {
+            targets.forEach(stream -> stream.emit(event));
+        }
+    }
+    
+    /** Delivers the event once to every stream watching any of the accounts. */
+    public void publish(ServerSentEvent<String> event, String accountId, String otherAccountId) {
+        if (otherAccountId == null || otherAccountId.equals(accountId)) {
+            publish(event, accountId);
+            return;
+        }
+        Set<Stream> targets = new LinkedHashSet<>();
+        targets.addAll(streamsByAccount.getOrDefault(accountId, Set.of()));
+        targets.addAll(streamsByAccount.getOrDefault(otherAccountId, Set.of()));
+        targets.forEach(stream -> stream.emit(event));
+    }
+    
+    public boolean isWatched(String accountId) {
+        return streamsByAccount.containsKey(accountId);
+    }
+    
+    public void publishToAll(ServerSentEvent<String> event) {
+        streams.forEach(stream -> stream.emit(event));
+    }
+    
+    /**
+     * Tells every stream that events may have been lost. Each stream looks its
+     * accounts up again first and is told once it watches the current set, so the
+     * state its client reloads cannot miss an event for a new account. A stream whose
+     * lookup fails keeps the accounts it had.
+     */
+    public void resync() {
+        streams.forEach(stream -> stream.accountLookup
+                .doOnNext(accountIds -> reindex(stream, Set.copyOf(accountIds)))
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.fromRunnable(() -> stream.emit(RESYNC)))
+                .subscribe());
+    }
+    
+    private void register(Stream stream) {
+        synchronized (stream) {
+            streams.add(stream);
+            stream.accountIds.forEach(accountId -> index(accountId, stream));
+        }
+    }
+    
+    private void unregister(Stream stream) {
+        synchronized (stream) {
+            streams.remove(stream);
+            stream.accountIds.forEach(accountId -> unindex(accountId, stream));
+        }
+    }
+    
+    private void reindex(Stream stream, Set<String> accountIds) {
+        synchronized (stream) {
+            // A stream that closed while its lookup ran must not be indexed again
+            if (!streams.contains(stream)) {
+                return;
+            }
+            accountIds.stream().filter(id -> !stream.accountIds.contains(id)).forEach(id -> index(id, stream));
+            stream.accountIds.stream().filter(id -> !accountIds.contains(id)).forEach(id -> unindex(id, stream));
+            stream.accountIds = accountIds;
+        }
+    }
+    
+    private void index(String accountId, Stream stream) {
+        // Added inside compute so a concurrent unindex cannot drop the set from the index first
+        streamsByAccount.compute(accountId, (id, targets) -> {
+            Set<Stream> updated = targets != null ? targets : ConcurrentHashMap.newKeySet();
+            updated.add(stream);
+            return updated;
+        });
+    }
+    
+    private void unindex(String accountId, Stream stream) {
+        streamsByAccount.computeIfPresent(accountId, (id, targets) -> {
+            targets.remove(stream);
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+    
+    private final class Stream {
+        
+        // Replaced under the stream's lock when a resync finds a different set of accounts
+        private Set<String> accountIds;
+        private final Mono<? extends Collection<String>> accountLookup;
+        private final Sinks.Many<ServerSentEvent<String>> sink;
+        
+        private Stream(Set<String> accountIds, Mono<? extends Collection<String>> accountLookup,
+                       Sinks.Many<ServerSentEvent<String>> sink) {
+            this.accountIds = accountIds;
+            this.accountLookup = accountLookup;
+            this.sink = sink;
+        }
+        
+        // Feeds from several services publish concurrently; the sink accepts one emitter at a time
+        synchronized void emit(ServerSentEvent<String> event) {
+            if (sink.tryEmitNext(event) == Sinks.EmitResult.FAIL_OVERFLOW) {
+                overflows.increment();
+                sink.tryEmitComplete();
+            }
+        }
+        
+        synchronized void complete() {
+            sink.tryEmitComplete();
+        }
+    }
+}
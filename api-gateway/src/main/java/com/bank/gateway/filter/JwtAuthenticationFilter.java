@@ -1,8 +1,13 @@
 package com.bank.gateway.filter;
 
+import com.bank.gateway.security.RevocationList;
+import com.bank.gateway.security.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -14,52 +19,104 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.security.Key;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
     
-    @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationThatIsLongEnoughForHS512Algorithm}")
-    private String jwtSecret;
+    /** Exchange attribute holding the verified {@link Claims} for filters later in the chain. */
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".claims";
+    /** Carries the verified {@code userId} claim to the routed service; a value sent by the client is replaced. */
+    public static final String USER_ID_HEADER = "X-User-Id";
     
-    public JwtAuthenticationFilter() {
+    // JJWT parsers are immutable and thread-safe, so the key and parser are built once
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevocationList revocationList;
+    // gateway.jwt.validation covers header parsing, verification and the revocation check, not the downstream call
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+    private final Timer revokedTimer;
+    private final Timer missingTimer;
+    
+    public JwtAuthenticationFilter(
+            @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationThatIsLongEnoughForHS512Algorithm}") String jwtSecret,
+            VerifiedTokenCache verifiedTokenCache,
+            RevocationList revocationList,
+            MeterRegistry meterRegistry) {
         super(Config.class);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
+                .build();
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationList = revocationList;
+        this.validTimer = validationTimer(meterRegistry, "valid");
+        this.invalidTimer = validationTimer(meterRegistry, "invalid");
+        this.revokedTimer = validationTimer(meterRegistry, "revoked");
+        this.missingTimer = validationTimer(meterRegistry, "missing");
+    }
+    
+    private static Timer validationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("gateway.jwt.validation")
+                .description("Bearer token checks in the gateway")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
     
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
+            long start = System.nanoTime();
             ServerHttpRequest request = exchange.getRequest();
             
             if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+                record(missingTimer, start);
                 return onError(exchange, "Missing authorization header", HttpStatus.UNAUTHORIZED);
             }
             
             String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
             
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                record(invalidTimer, start);
                 return onError(exchange, "Invalid authorization header", HttpStatus.UNAUTHORIZED);
             }
             
             String token = authHeader.substring(7);
             
+            Claims claims;
             try {
-                validateToken(token);
+                claims = validateToken(token);
             } catch (Exception e) {
+                record(invalidTimer, start);
                 return onError(exchange, "Invalid token", HttpStatus.UNAUTHORIZED);
             }
             
-            return chain.filter(exchange);
+            if (revocationList.isRevoked(claims.getId())) {
+                record(revokedTimer, start);
+                return onError(exchange, "Token revoked", HttpStatus.UNAUTHORIZED);
+            }
+            record(validTimer, start);
+            exchange.getAttributes().put(CLAIMS_ATTRIBUTE, claims);
+            
+            String userId = claims.get("userId", String.class);
+            ServerHttpRequest forwarded = request.mutate()
+                    .headers(headers -> {
+                        headers.remove(USER_ID_HEADER);
+                        if (userId != null) {
+                            headers.set(USER_ID_HEADER, userId);
+                        }
+                    })
+                    .build();
+            return chain.filter(exchange.mutate().request(forwarded).build());
         };
     }
     
-    private void validateToken(String token) {
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private Claims validateToken(String token) {
+        return verifiedTokenCache.getOrVerify(token, t -> jwtParser.parseClaimsJws(t).getBody());
+    }
+    
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
     
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
@@ -0,0 +1,71 @@
+package com.bank.gateway.filter;
+
+import com.bank.gateway.ratelimit.UserRateLimiter;
+import io.jsonwebtoken.Claims;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests with 429 once the caller has spent the route's budget, before
+ * anything is forwarded downstream. Must follow {@link JwtAuthenticationFilter} on
+ * the route so the caller can be identified by the token's {@code userId} claim.
+ */
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+    
+    private final UserRateLimiter userRateLimiter;
+    
+    public RateLimitFilter(UserRateLimiter userRateLimiter) {
+        super(Config.class);
+        this.userRateLimiter = userRateLimiter;
+    }
+    
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("budget");
+    }
+    
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            Claims claims = exchange.getAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE);
+            String userId = claims != null ? claims.get("userId", String.class) : null;
+            if (userId == null) {
+                InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+                userId = remoteAddress != null ? remoteAddress.getHostString() : "anonymous";
+            }
+            
+            long waitNanos = userRateLimiter.tryAcquire(config.getBudget(), userId);
+            if (waitNanos > 0) {
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                        String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+                return response.setComplete();
+            }
+            
+            return chain.filter(exchange);
+        };
+    }
+    
+    public static class Config {
+        private String budget;
+        
+        public String getBudget() {
+            return budget;
+        }
+        
+        public void setBudget(String budget) {
+            this.budget = budget;
+        }
+    }
+}
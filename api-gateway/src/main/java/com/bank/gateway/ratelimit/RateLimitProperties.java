@@ -0,0 +1,62 @@
+package com.bank.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Named request budgets referenced by {@code RateLimitFilter=<budget>} on a route.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+    
+    /** Buckets untouched for this long are full again and can be dropped. */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    
+    private Map<String, Budget> budgets = new HashMap<>();
+    
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+    
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+    
+    public Map<String, Budget> getBudgets() {
+        return budgets;
+    }
+    
+    public void setBudgets(Map<String, Budget> budgets) {
+        this.budgets = budgets;
+    }
+    
+    public static class Budget {
+        
+        /** Requests a user can make in a burst. */
+        private int capacity = 20;
+        
+        /** Sustained requests per second once the burst is spent. */
+        private double refillPerSecond = 10;
+        
+        public int getCapacity() {
+            return capacity;
+        }
+        
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+        
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+        
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Rather than storing a token count and a refill
+ * timestamp, it keeps the single instant at which the bucket will be full again
+ * (the GCRA formulation), so taking a token is one compare-and-set on a long.
+ */
+class TokenBucket {
+    
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+    
+    TokenBucket(int capacity, double refillPerSecond, long now) {
+        this.nanosPerToken = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = nanosPerToken * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+    
+    /**
+     * Takes one token at {@code now}.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long overdraw = next - now - burstNanos;
+            if (overdraw > 0) {
+                return overdraw;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    boolean isIdleSince(long cutoff) {
+        return fullAt.get() - cutoff <= 0;
+    }
+}
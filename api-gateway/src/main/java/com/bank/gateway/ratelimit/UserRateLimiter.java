@@ -0,0 +1,80 @@
+package com.bank.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user token buckets held in this gateway instance, one per (budget, user).
+ * Nothing is shared between instances, so the effective limit scales with the
+ * number of gateways. Buckets that have refilled and sat idle past
+ * {@code gateway.rate-limit.idle-timeout} are swept out, which keeps memory
+ * proportional to recently active users.
+ */
+@Component
+public class UserRateLimiter {
+    
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final long idleTimeoutNanos;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> outcomes = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    
+    public UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        Gauge.builder("gateway.rate-limit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+    
+    /**
+     * Takes a token from {@code userId}'s bucket for {@code budgetName}.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds to wait before retrying
+     */
+    public long tryAcquire(String budgetName, String userId) {
+        RateLimitProperties.Budget budget = properties.getBudgets().get(budgetName);
+        if (budget == null) {
+            throw new IllegalArgumentException("Unknown rate limit budget: " + budgetName);
+        }
+        
+        long now = System.nanoTime();
+        sweepIfDue(now);
+        TokenBucket bucket = buckets.computeIfAbsent(budgetName + ':' + userId,
+                key -> new TokenBucket(budget.getCapacity(), budget.getRefillPerSecond(), now));
+        long waitNanos = bucket.tryConsume(now);
+        
+        Counter[] counters = outcomes.computeIfAbsent(budgetName, this::registerOutcomes);
+        counters[waitNanos == 0 ? 0 : 1].increment();
+        return waitNanos;
+    }
+    
+    public int getBucketCount() {
+        return buckets.size();
+    }
+    
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        // Check at a fraction of the timeout so buckets outlive it by at most that much
+        if (now - last < idleTimeoutNanos / 4 || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        long cutoff = now - idleTimeoutNanos;
+        buckets.values().removeIf(bucket -> bucket.isIdleSince(cutoff));
+    }
+    
+    private Counter[] registerOutcomes(String budgetName) {
+        return new Counter[] {
+                Counter.builder("gateway.rate-limit.requests").tag("budget", budgetName).tag("result", "allowed")
+                        .register(meterRegistry),
+                Counter.builder("gateway.rate-limit.requests").tag("budget", budgetName).tag("result", "rejected")
+                        .register(meterRegistry)
+        };
+    }
+}
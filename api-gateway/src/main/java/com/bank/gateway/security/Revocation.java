@@ -0,0 +1,8 @@
+package com.bank.gateway.security;
+
+/**
+ * A revoked access token id and the token's expiry in epoch millis, as published by
+ * auth-service.
+ */
+public record Revocation(String jti, long expiresAt) {
+}
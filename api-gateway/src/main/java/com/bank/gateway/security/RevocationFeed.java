@@ -0,0 +1,10 @@
+package com.bank.gateway.security;
+
+import java.util.List;
+
+/**
+ * Response of auth-service's {@code /internal/revocations}. {@code asOf} is the
+ * auth-service clock before the query ran and is the next poll's {@code since}.
+ */
+public record RevocationFeed(long asOf, List<Revocation> revocations) {
+}
@@ -0,0 +1,84 @@
+package com.bank.gateway.security;
+
+import com.bank.common.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access token ids, checked on every authenticated request without I/O.
+ * The bulk of them live in a Bloom filter rebuilt from auth-service's full list
+ * every so often; revocations seen since the last rebuild are held exactly. A
+ * Bloom false positive rejects a valid token, which costs the client one refresh
+ * (its new token has a new jti), so the rate only needs to be small, not zero.
+ */
+@Component
+public class RevocationList {
+    
+    private final double falsePositiveRate;
+    private final int maxRecent;
+    private final Map<String, Long> recent = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(BloomFilter.create(0, 0.01), 0);
+    private final Counter rejections;
+    
+    public RevocationList(@Value("${gateway.revocation.false-positive-rate:0.0001}") double falsePositiveRate,
+                          @Value("${gateway.revocation.max-recent:10000}") int maxRecent,
+                          MeterRegistry meterRegistry) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxRecent = maxRecent;
+        this.rejections = Counter.builder("gateway.revocation.rejections").register(meterRegistry);
+        Gauge.builder("gateway.revocation.recent", recent, Map::size).register(meterRegistry);
+        Gauge.builder("gateway.revocation.snapshot", this, list -> list.snapshot.entries).register(meterRegistry);
+        Gauge.builder("gateway.revocation.snapshot.bytes", this, list -> list.snapshot.filter.sizeInBytes())
+                .register(meterRegistry);
+    }
+    
+    /**
+     * True if the token with this jti has been revoked, or in rare cases (Bloom false
+     * positive) when it has not. Tokens without a jti predate revocation and pass.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        boolean revoked = recent.containsKey(tokenId) || snapshot.filter.mightContain(tokenId);
+        if (revoked) {
+            rejections.increment();
+        }
+        return revoked;
+    }
+    
+    /**
+     * Adds revocations published since the last update and drops the exact entries
+     * whose tokens have expired.
+     */
+    public void addAll(Collection<Revocation> revocations) {
+        revocations.forEach(revocation -> recent.put(revocation.jti(), revocation.expiresAt()));
+        long now = System.currentTimeMillis();
+        recent.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+    
+    /**
+     * Rebuilds the filter from every revocation still in force and empties the exact
+     * set, whose entries the full list includes.
+     */
+    public void replaceAll(Collection<Revocation> revocations) {
+        BloomFilter filter = BloomFilter.create(revocations.size(), falsePositiveRate);
+        revocations.forEach(revocation -> filter.put(revocation.jti()));
+        snapshot = new Snapshot(filter, revocations.size());
+        recent.clear();
+    }
+    
+    public boolean isRebuildDue() {
+        return recent.size() > maxRecent;
+    }
+    
+    private record Snapshot(BloomFilter filter, int entries) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.bank.gateway.security;
+
+import com.bank.common.security.ServiceToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Keeps the {@link RevocationList} in step with auth-service. Each tick fetches the
+ * revocations since the previous one; every {@code rebuild-interval}, or once the
+ * exact set has grown past its limit, it fetches the full list instead and rebuilds
+ * the filter. If auth-service cannot be reached the last known list stays in force,
+ * so revocations are delayed by the outage but never forgotten.
+ */
+@Component
+public class RevocationPoller {
+    
+    private static final Logger log = LoggerFactory.getLogger(RevocationPoller.class);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    
+    private final RevocationList revocationList;
+    private final WebClient webClient;
+    private final String url;
+    private final Duration pollInterval;
+    private final long rebuildIntervalMs;
+    private final long overlapMs;
+    private final Counter successfulPolls;
+    private final Counter failedPolls;
+    // Only touched by the poll sequence, which never overlaps itself
+    private long asOf;
+    private long lastRebuild;
+    private boolean failing;
+    private Disposable polling;
+    
+    public RevocationPoller(RevocationList revocationList,
+                            ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                            @Value("${gateway.revocation.url:http://auth-service/internal/revocations}") String url,
+                            @Value("${gateway.revocation.poll-interval:5s}") Duration pollInterval,
+                            @Value("${gateway.revocation.rebuild-interval:10m}") Duration rebuildInterval,
+                            @Value("${gateway.revocation.overlap:30s}") Duration overlap,
+                            @Value("${service.auth.token}") String serviceToken,
+                            MeterRegistry meterRegistry) {
+        this.revocationList = revocationList;
+        this.webClient = WebClient.builder()
+                .filter(loadBalancer)
+                .defaultHeader(ServiceToken.HEADER, serviceToken)
+                .build();
+        this.url = url;
+        this.pollInterval = pollInterval;
+        this.rebuildIntervalMs = rebuildInterval.toMillis();
+        this.overlapMs = overlap.toMillis();
+        this.successfulPolls = Counter.builder("gateway.revocation.polls").tag("result", "success")
+                .register(meterRegistry);
+        this.failedPolls = Counter.builder("gateway.revocation.polls").tag("result", "failure")
+                .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        polling = Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll(), 1)
+                .subscribe();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+    
+    private Mono<Void> poll() {
+        long now = System.currentTimeMillis();
+        boolean rebuild = lastRebuild == 0 || now - lastRebuild >= rebuildIntervalMs || revocationList.isRebuildDue();
+        // Revocations are stamped by whichever auth-service instance made them, so re-read a margin for clock skew
+        long since = rebuild ? 0 : Math.max(0, asOf - overlapMs);
+        
+        return webClient.get()
+                .uri(url + "?since={since}", since)
+                .retrieve()
+                .bodyToMono(RevocationFeed.class)
+                .timeout(REQUEST_TIMEOUT)
+                .doOnNext(feed -> {
+                    if (rebuild) {
+                        revocationList.replaceAll(feed.revocations());
+                        lastRebuild = now;
+                    } else {
+                        revocationList.addAll(feed.revocations());
+                    }
+                    asOf = feed.asOf();
+                    successfulPolls.increment();
+                    if (failing) {
+                        log.info("Revocation list is being updated again");
+                        failing = false;
+                    }
+                })
+                .onErrorResume(e -> {
+                    failedPolls.increment();
+                    if (!failing) {
+                        log.warn("Could not fetch revocations from {}; keeping the last known list: {}", url,
+                                e.toString());
+                        failing = true;
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,126 @@
+package com.bank.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, so repeat
+ * requests from the same session skip parsing and HMAC verification. Entries are
+ * keyed by the SHA-256 digest of the whole compact token, so a token with any byte
+ * changed (including its signature) never matches, and they are dropped once the
+ * token's own {@code exp} has passed.
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    
+    private final int maxEntries;
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Queue<CacheEntry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expiredEvictions;
+    private final Counter sizeEvictions;
+    
+    public VerifiedTokenCache(@Value("${jwt.cache.max-entries:10000}") int maxEntries,
+                              MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("gateway.jwt.cache.requests").tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("gateway.jwt.cache.requests").tag("result", "miss")
+                .register(meterRegistry);
+        this.expiredEvictions = Counter.builder("gateway.jwt.cache.evictions").tag("cause", "expired")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("gateway.jwt.cache.evictions").tag("cause", "size")
+                .register(meterRegistry);
+        Gauge.builder("gateway.jwt.cache.size", entries, Map::size).register(meterRegistry);
+    }
+    
+    /**
+     * Returns the cached claims for {@code token}, or verifies it with {@code verifier}
+     * and caches the result. Verification failures propagate and are not cached.
+     */
+    public Claims getOrVerify(String token, Function<String, Claims> verifier) {
+        if (maxEntries <= 0) {
+            return verifier.apply(token);
+        }
+        
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+        CacheEntry cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                hits.increment();
+                return cached.claims;
+            }
+            if (entries.remove(key, cached)) {
+                expiredEvictions.increment();
+            }
+        }
+        misses.increment();
+        
+        Claims claims = verifier.apply(token);
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            CacheEntry entry = new CacheEntry(key, claims, expiration.getTime());
+            entries.put(key, entry);
+            insertionOrder.add(entry);
+            evict(now);
+        }
+        return claims;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    private void evict(long now) {
+        CacheEntry oldest;
+        while ((oldest = insertionOrder.peek()) != null
+                && (oldest.expiresAt <= now || entries.size() > maxEntries)) {
+            insertionOrder.poll();
+            if (entries.remove(oldest.key, oldest)) {
+                (oldest.expiresAt <= now ? expiredEvictions : sizeEvictions).increment();
+            }
+        }
+    }
+    
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+    
+    private static class CacheEntry {
+        private final String key;
+        private final Claims claims;
+        private final long expiresAt;
+        
+        CacheEntry(String key, Claims claims, long expiresAt) {
+            this.key = key;
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
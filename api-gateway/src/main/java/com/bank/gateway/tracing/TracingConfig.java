@@ -0,0 +1,27 @@
+package com.bank.gateway.tracing;
+
+import com.bank.common.tracing.SpanExporterConfig;
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+
+/**
+ * Tracing beyond what Spring Boot and Spring Cloud Gateway configure on their own.
+ * The gateway starts a trace per request, makes the sampling decision the services
+ * behind it follow, and forwards it as a W3C {@code traceparent} header on every
+ * routed call; this keeps actuator traffic out of the traces and imports the
+ * shared local span sink ({@link SpanExporterConfig}).
+ */
+@Configuration
+@Import(SpanExporterConfig.class)
+public class TracingConfig {
+    
+    // Scrapes and health checks would otherwise fill the sampled traces
+    @Bean
+    public ObservationPredicate ignoreActuatorRequests() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext serverContext
+                && serverContext.getCarrier().getPath().value().startsWith("/actuator"));
+    }
+}
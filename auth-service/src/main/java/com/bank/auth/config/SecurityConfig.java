@@ -1,5 +1,7 @@
 package com.bank.auth.config;
 
+import com.bank.auth.security.PasswordHashingExecutor;
+import com.bank.auth.security.PooledPasswordEncoder;
 import com.bank.auth.service.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -22,10 +24,11 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
     
     private final UserDetailsServiceImpl userDetailsService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
     
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor);
     }
     
     @Bean
@@ -49,7 +52,10 @@ public class SecurityConfig {
         http.csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/**").permitAll()
+                        // Internal endpoints carry no user; the service token filter ahead of this chain guards them
+                        .requestMatchers("/api/auth/**", "/internal/revocations").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/metrics", "/actuator/metrics/**",
+                                "/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 );
         
@@ -1,10 +1,13 @@
 package com.bank.auth.controller;
 
 import com.bank.auth.dto.AuthResponse;
+import com.bank.auth.dto.AvailabilityResponse;
 import com.bank.auth.dto.LoginRequest;
 import com.bank.auth.dto.MessageResponse;
+import com.bank.auth.dto.RefreshTokenRequest;
 import com.bank.auth.dto.RegisterRequest;
 import com.bank.auth.entity.User;
+import com.bank.auth.exception.PasswordHashingOverloadedException;
 import com.bank.auth.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,21 +27,42 @@ public class AuthController {
         try {
             User user = authService.registerUser(request);
             return ResponseEntity.ok(new MessageResponse("User registered successfully"));
+        } catch (PasswordHashingOverloadedException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
     }
     
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(@RequestParam(required = false) String username,
+                                                                  @RequestParam(required = false) String email) {
+        return ResponseEntity.ok(authService.checkAvailability(username, email));
+    }
+    
     @PostMapping("/login")
     public ResponseEntity<?> loginUser(@Valid @RequestBody LoginRequest request) {
         try {
             AuthResponse response = authService.loginUser(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Invalid credentials"));
         }
     }
     
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+    
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request);
+        return ResponseEntity.ok(new MessageResponse("Logged out successfully"));
+    }
+    
     @GetMapping("/validate")
     public ResponseEntity<?> validateToken(@RequestParam String token) {
         boolean isValid = authService.validateToken(token);
@@ -0,0 +1,30 @@
+package com.bank.auth.controller;
+
+import com.bank.auth.dto.RevocationsResponse;
+import com.bank.auth.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+/**
+ * Service-to-service feed of revoked access token ids, polled by the gateway. Like
+ * everything under {@code /internal}, it is refused to callers without the service
+ * token ({@code service.auth.protected-paths}).
+ */
+@RestController
+@RequestMapping("/internal/revocations")
+@RequiredArgsConstructor
+public class RevocationController {
+    
+    private final RefreshTokenService refreshTokenService;
+    
+    @GetMapping
+    public ResponseEntity<RevocationsResponse> getRevocations(@RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(refreshTokenService.revocationsSince(Instant.ofEpochMilli(since)));
+    }
+}
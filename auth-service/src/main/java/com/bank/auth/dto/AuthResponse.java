@@ -9,14 +9,17 @@ import java.util.Set;
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private String id;
     private String username;
     private String email;
     private Set<String> roles;
     
-    public AuthResponse(String token, String id, String username, String email, Set<String> roles) {
+    public AuthResponse(String token, String refreshToken, String id, String username, String email,
+                        Set<String> roles) {
         this.token = token;
+        this.refreshToken = refreshToken;
         this.id = id;
         this.username = username;
         this.email = email;
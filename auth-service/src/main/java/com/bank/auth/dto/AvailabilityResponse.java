@@ -0,0 +1,13 @@
+package com.bank.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailabilityResponse {
+    private Boolean usernameAvailable; // null when not asked
+    private Boolean emailAvailable;
+}
@@ -0,0 +1,13 @@
+package com.bank.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocationEntry {
+    private String jti;
+    private long expiresAt; // epoch millis
+}
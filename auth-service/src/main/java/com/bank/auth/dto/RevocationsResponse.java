@@ -0,0 +1,15 @@
+package com.bank.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocationsResponse {
+    private long asOf; // epoch millis, taken before the query; pass it back as the next since
+    private List<RevocationEntry> revocations;
+}
@@ -0,0 +1,35 @@
+package com.bank.auth.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "refresh_tokens")
+public class RefreshToken {
+    @Id
+    private String id; // SHA-256 of the token; the token itself is never stored
+    
+    private String userId;
+    
+    @Indexed
+    private String familyId; // Shared by every token rotated from the same login
+    
+    private String accessTokenId; // jti of the access token issued alongside this one
+    
+    private Instant accessTokenExpiresAt;
+    
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+    
+    private Instant usedAt; // Set when the token is exchanged; a second exchange is a replay
+    
+    private boolean revoked;
+}
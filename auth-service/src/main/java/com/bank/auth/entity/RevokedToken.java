@@ -0,0 +1,25 @@
+package com.bank.auth.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+    @Id
+    private String id; // jti of the revoked access token
+    
+    @Indexed
+    private Instant revokedAt;
+    
+    @Indexed(expireAfterSeconds = 0) // Past this the gateway rejects the token as expired anyway
+    private Instant expiresAt;
+}
@@ -0,0 +1,7 @@
+package com.bank.auth.exception;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.auth.metrics;
+
+import com.bank.auth.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@code auth.login} timers, tagged with the outcome of the sign-in: {@code success},
+ * {@code bad_credentials} for an unknown user or wrong password, {@code overloaded}
+ * when password hashing shed the request, and {@code error} for anything else. The
+ * hash itself is timed separately as {@code auth.password.hash.duration}.
+ */
+@Component
+public class LoginMetrics {
+    
+    private final Timer success;
+    private final Timer badCredentials;
+    private final Timer overloaded;
+    private final Timer error;
+    
+    public LoginMetrics(MeterRegistry meterRegistry) {
+        this.success = loginTimer(meterRegistry, "success");
+        this.badCredentials = loginTimer(meterRegistry, "bad_credentials");
+        this.overloaded = loginTimer(meterRegistry, "overloaded");
+        this.error = loginTimer(meterRegistry, "error");
+    }
+    
+    public <T> T record(Supplier<T> login) {
+        long start = System.nanoTime();
+        Timer outcome = error;
+        try {
+            T result = login.get();
+            outcome = success;
+            return result;
+        } catch (AuthenticationException e) {
+            outcome = badCredentials;
+            throw e;
+        } catch (PasswordHashingOverloadedException e) {
+            outcome = overloaded;
+            throw e;
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private static Timer loginTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.login")
+                .description("Sign-in requests, including the password hash and token issue")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.bank.auth.repository;
+
+import com.bank.auth.entity.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String>, RefreshTokenRepositoryCustom {
+    List<RefreshToken> findByFamilyId(String familyId);
+}
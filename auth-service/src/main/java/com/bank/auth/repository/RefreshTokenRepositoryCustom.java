@@ -0,0 +1,20 @@
+package com.bank.auth.repository;
+
+import com.bank.auth.entity.RefreshToken;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepositoryCustom {
+    /**
+     * Atomically marks the token as used if it is unused, unrevoked and unexpired at
+     * {@code now}, so concurrent exchanges of the same token cannot both succeed.
+     * Returns the token as it was before the update, or empty if it was not usable.
+     */
+    Optional<RefreshToken> markUsed(String id, Instant now);
+    
+    /**
+     * Revokes every refresh token of the family.
+     */
+    void revokeFamily(String familyId);
+}
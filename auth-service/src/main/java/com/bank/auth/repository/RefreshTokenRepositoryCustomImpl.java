@@ -0,0 +1,40 @@
+package com.bank.auth.repository;
+
+import com.bank.auth.entity.RefreshToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class RefreshTokenRepositoryCustomImpl implements RefreshTokenRepositoryCustom {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Override
+    public Optional<RefreshToken> markUsed(String id, Instant now) {
+        Query usable = new Query(Criteria.where("_id").is(id)
+                .and("usedAt").is(null)
+                .and("revoked").is(false)
+                .and("expiresAt").gt(now));
+        RefreshToken token = mongoTemplate.findAndModify(
+                usable,
+                new Update().set("usedAt", now),
+                FindAndModifyOptions.options().returnNew(false),
+                RefreshToken.class);
+        return Optional.ofNullable(token);
+    }
+    
+    @Override
+    public void revokeFamily(String familyId) {
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("familyId").is(familyId)),
+                new Update().set("revoked", true),
+                RefreshToken.class);
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.auth.repository;
+
+import com.bank.auth.entity.RevokedToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends MongoRepository<RevokedToken, String> {
+    List<RevokedToken> findByRevokedAtGreaterThanEqualAndExpiresAtAfter(Instant since, Instant now);
+}
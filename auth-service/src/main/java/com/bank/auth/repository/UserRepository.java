@@ -2,9 +2,11 @@ package com.bank.auth.repository;
 
 import com.bank.auth.entity.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends MongoRepository<User, String> {
@@ -12,4 +14,7 @@ public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    
+    @Query(value = "{}", fields = "{ 'username' : 1, 'email' : 1 }")
+    Stream<User> streamAllUsernamesAndEmails();
 }
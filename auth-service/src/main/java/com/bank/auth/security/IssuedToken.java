@@ -0,0 +1,9 @@
+package com.bank.auth.security;
+
+import java.time.Instant;
+
+/**
+ * A signed access token together with its jti and expiry, which revocation needs.
+ */
+public record IssuedToken(String token, String tokenId, Instant expiresAt) {
+}
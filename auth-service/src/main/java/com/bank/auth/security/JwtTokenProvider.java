@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.util.Date;
 import java.util.Set;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
@@ -23,10 +24,20 @@ public class JwtTokenProvider {
     }
     
     public String generateToken(String username, String userId, Set<String> roles) {
+        return issueToken(username, userId, roles).token();
+    }
+    
+    /**
+     * Issues an access token with a random jti, by which the gateway can be told to
+     * reject it before it expires.
+     */
+    public IssuedToken issueToken(String username, String userId, Set<String> roles) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
+        String tokenId = UUID.randomUUID().toString();
         
-        return Jwts.builder()
+        String token = Jwts.builder()
+                .setId(tokenId)
                 .setSubject(username)
                 .claim("userId", userId)
                 .claim("roles", roles)
@@ -34,6 +45,7 @@ public class JwtTokenProvider {
                 .setExpiration(expiryDate)
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
                 .compact();
+        return new IssuedToken(token, tokenId, expiryDate.toInstant());
     }
     
     public String getUsernameFromToken(String token) {
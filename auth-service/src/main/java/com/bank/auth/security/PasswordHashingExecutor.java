@@ -0,0 +1,127 @@
+package com.bank.auth.security;
+
+import com.bank.auth.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a fixed pool of workers, one per core by default, so a
+ * burst of logins costs at most that many cores and request threads stay free for
+ * cheap endpoints. Callers wait for their hash; once {@code max-queue-depth} hashes
+ * are already waiting, new ones are refused immediately with
+ * {@link PasswordHashingOverloadedException} instead of queueing behind them.
+ */
+@Component
+public class PasswordHashingExecutor {
+    
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWait;
+    private final Timer encodeSuccess;
+    private final Timer encodeError;
+    private final Timer matchesMatch;
+    private final Timer matchesMismatch;
+    private final Timer matchesError;
+    private final Counter rejections;
+    
+    public PasswordHashingExecutor(@Value("${auth.hashing.pool-size:0}") int poolSize,
+                                   @Value("${auth.hashing.max-queue-depth:64}") int maxQueueDepth,
+                                   MeterRegistry meterRegistry) {
+        int workers = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Runnable> queue = maxQueueDepth > 0
+                ? new ArrayBlockingQueue<>(maxQueueDepth)
+                : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, queue,
+                new CustomizableThreadFactory("password-hash-"), new ThreadPoolExecutor.AbortPolicy());
+        
+        this.queueWait = Timer.builder("auth.password.hash.wait")
+                .description("Time a password hash waited for a worker")
+                .register(meterRegistry);
+        this.encodeSuccess = hashDuration(meterRegistry, "encode", "success");
+        this.encodeError = hashDuration(meterRegistry, "encode", "error");
+        this.matchesMatch = hashDuration(meterRegistry, "matches", "match");
+        this.matchesMismatch = hashDuration(meterRegistry, "matches", "mismatch");
+        this.matchesError = hashDuration(meterRegistry, "matches", "error");
+        this.rejections = Counter.builder("auth.password.hash.rejections")
+                .description("Password hashes refused because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", queue, BlockingQueue::size)
+                .description("Password hashes waiting for a worker")
+                .register(meterRegistry);
+    }
+    
+    public String encode(Supplier<String> hash) {
+        return execute(hash, encoded -> encodeSuccess, encodeError);
+    }
+    
+    public boolean matches(Supplier<Boolean> hash) {
+        return execute(hash, matched -> matched ? matchesMatch : matchesMismatch, matchesError);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    private <T> T execute(Supplier<T> hash, Function<T, Timer> completed, Timer failed) {
+        long queuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                Timer duration = failed;
+                try {
+                    T value = hash.get();
+                    duration = completed.apply(value);
+                    return value;
+                } finally {
+                    duration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingOverloadedException("Too many sign-in attempts in progress, try again shortly");
+        }
+        
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    private static Timer hashDuration(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Timer.builder("auth.password.hash.duration")
+                .description("Time spent computing a password hash")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.bank.auth.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs a {@link PasswordEncoder} on the {@link PasswordHashingExecutor}, so every
+ * hash, including the ones Spring Security computes during authentication, is
+ * admission controlled.
+ */
+@RequiredArgsConstructor
+public class PooledPasswordEncoder implements PasswordEncoder {
+    
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor hashingExecutor;
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingExecutor.encode(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashingExecutor.matches(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -1,21 +1,31 @@
 package com.bank.auth.service;
 
 import com.bank.auth.dto.AuthResponse;
+import com.bank.auth.dto.AvailabilityResponse;
 import com.bank.auth.dto.LoginRequest;
+import com.bank.auth.dto.RefreshTokenRequest;
 import com.bank.auth.dto.RegisterRequest;
+import com.bank.auth.entity.RefreshToken;
 import com.bank.auth.entity.User;
+import com.bank.auth.exception.InvalidRefreshTokenException;
+import com.bank.auth.metrics.LoginMetrics;
 import com.bank.auth.repository.UserRepository;
+import com.bank.auth.security.IssuedToken;
 import com.bank.auth.security.JwtTokenProvider;
+import com.bank.auth.security.UserDetailsImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,16 +35,11 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final UserAvailabilityService userAvailabilityService;
+    private final LoginMetrics loginMetrics;
     
     public User registerUser(RegisterRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username already exists");
-        }
-        
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already exists");
-        }
-        
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
@@ -57,10 +62,22 @@ public class AuthService {
         }
         user.setRoles(roles);
         
-        return userRepository.save(user);
+        // The unique indexes on username and email reject duplicates, including concurrent sign-ups
+        User savedUser;
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException(duplicateUserMessage(e));
+        }
+        userAvailabilityService.registered(savedUser);
+        return savedUser;
     }
     
     public AuthResponse loginUser(LoginRequest request) {
+        return loginMetrics.record(() -> authenticate(request));
+    }
+    
+    private AuthResponse authenticate(LoginRequest request) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getUsername(),
@@ -70,16 +87,42 @@ public class AuthService {
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // The principal was built from the user authentication just loaded, so no second lookup
+        UserDetailsImpl user = (UserDetailsImpl) authentication.getPrincipal();
+        Set<String> roles = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
         
-        String token = jwtTokenProvider.generateToken(
-                user.getUsername(),
-                user.getId(),
-                user.getRoles()
-        );
+        IssuedToken accessToken = jwtTokenProvider.issueToken(user.getUsername(), user.getId(), roles);
+        String refreshToken = refreshTokenService.create(user.getId(), accessToken, null);
+        
+        return new AuthResponse(accessToken.token(), refreshToken, user.getId(), user.getUsername(),
+                user.getEmail(), roles);
+    }
+    
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshToken previous = refreshTokenService.rotate(request.getRefreshToken());
+        
+        // Reload so role changes and disabled accounts take effect at the next refresh
+        User user = userRepository.findById(previous.getUserId())
+                .filter(User::isEnabled)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+        
+        IssuedToken accessToken = jwtTokenProvider.issueToken(user.getUsername(), user.getId(), user.getRoles());
+        String refreshToken = refreshTokenService.create(user.getId(), accessToken, previous.getFamilyId());
         
-        return new AuthResponse(token, user.getId(), user.getUsername(), user.getEmail(), user.getRoles());
+        return new AuthResponse(accessToken.token(), refreshToken, user.getId(), user.getUsername(),
+                user.getEmail(), user.getRoles());
+    }
+    
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
+    
+    public AvailabilityResponse checkAvailability(String username, String email) {
+        return new AvailabilityResponse(
+                username != null ? userAvailabilityService.isUsernameAvailable(username) : null,
+                email != null ? userAvailabilityService.isEmailAvailable(email) : null);
     }
     
     public boolean validateToken(String token) {
@@ -89,4 +132,13 @@ public class AuthService {
     public String getUsernameFromToken(String token) {
         return jwtTokenProvider.getUsernameFromToken(token);
     }
+    
+    // MongoDB names the violated index only in the message, e.g. "E11000 ... index: email dup key: ..."
+    private static String duplicateUserMessage(DuplicateKeyException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (message.contains("index: email ")) {
+            return "Email already exists";
+        }
+        return "Username already exists";
+    }
 }
@@ -0,0 +1,125 @@
+package com.bank.auth.service;
+
+import com.bank.auth.dto.RevocationEntry;
+import com.bank.auth.dto.RevocationsResponse;
+import com.bank.auth.entity.RefreshToken;
+import com.bank.auth.entity.RevokedToken;
+import com.bank.auth.exception.InvalidRefreshTokenException;
+import com.bank.auth.repository.RefreshTokenRepository;
+import com.bank.auth.repository.RevokedTokenRepository;
+import com.bank.auth.security.IssuedToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Opaque, single-use refresh tokens. Each exchange retires the presented token and
+ * issues a new one in the same family; presenting a retired token again means it
+ * was copied, so the whole family is revoked along with the access tokens issued
+ * from it. Revoked access token ids are kept until the tokens expire and are pulled
+ * by the gateway through {@link #revocationsSince}.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+    
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long refreshExpirationMs;
+    
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               RevokedTokenRepository revokedTokenRepository,
+                               @Value("${jwt.refresh-expiration:1209600000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+    
+    /**
+     * Issues a refresh token paired with {@code accessToken}. Pass a null family to
+     * start a new session.
+     */
+    public String create(String userId, IssuedToken accessToken, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setId(hash(token));
+        refreshToken.setUserId(userId);
+        refreshToken.setFamilyId(familyId != null ? familyId : UUID.randomUUID().toString());
+        refreshToken.setAccessTokenId(accessToken.tokenId());
+        refreshToken.setAccessTokenExpiresAt(accessToken.expiresAt());
+        refreshToken.setExpiresAt(Instant.now().plusMillis(refreshExpirationMs));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+    
+    /**
+     * Retires {@code token} and returns its record, whose family the replacement
+     * should join.
+     */
+    public RefreshToken rotate(String token) {
+        String id = hash(token);
+        return refreshTokenRepository.markUsed(id, Instant.now()).orElseThrow(() -> {
+            refreshTokenRepository.findById(id)
+                    .filter(existing -> existing.getUsedAt() != null && !existing.isRevoked())
+                    .ifPresent(reused -> {
+                        log.warn("Refresh token reused for user {}; revoking its session", reused.getUserId());
+                        revokeFamily(reused.getFamilyId());
+                    });
+            return new InvalidRefreshTokenException("Invalid refresh token");
+        });
+    }
+    
+    /**
+     * Ends the session {@code token} belongs to. Unknown tokens are ignored.
+     */
+    public void revoke(String token) {
+        refreshTokenRepository.findById(hash(token))
+                .ifPresent(refreshToken -> revokeFamily(refreshToken.getFamilyId()));
+    }
+    
+    public RevocationsResponse revocationsSince(Instant since) {
+        Instant now = Instant.now();
+        List<RevocationEntry> revocations = revokedTokenRepository
+                .findByRevokedAtGreaterThanEqualAndExpiresAtAfter(since, now).stream()
+                .map(revoked -> new RevocationEntry(revoked.getId(), revoked.getExpiresAt().toEpochMilli()))
+                .toList();
+        return new RevocationsResponse(now.toEpochMilli(), revocations);
+    }
+    
+    private void revokeFamily(String familyId) {
+        Instant now = Instant.now();
+        List<RefreshToken> family = refreshTokenRepository.findByFamilyId(familyId);
+        refreshTokenRepository.revokeFamily(familyId);
+        List<RevokedToken> accessTokens = family.stream()
+                .filter(refreshToken -> refreshToken.getAccessTokenExpiresAt().isAfter(now))
+                .map(refreshToken -> new RevokedToken(
+                        refreshToken.getAccessTokenId(), now, refreshToken.getAccessTokenExpiresAt()))
+                .toList();
+        revokedTokenRepository.saveAll(accessTokens);
+    }
+    
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
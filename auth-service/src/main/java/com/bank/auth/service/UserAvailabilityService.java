@@ -0,0 +1,124 @@
+package com.bank.auth.service;
+
+import com.bank.auth.entity.User;
+import com.bank.auth.repository.UserRepository;
+import com.bank.common.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.Stream;
+
+/**
+ * Answers "is this username / email free?" for the signup form. Bloom filters of
+ * every registered username and email rule out most candidates without touching
+ * MongoDB; only a possible match is confirmed with a query, so answers are exact.
+ * The filters see this instance's registrations as they happen and are rebuilt
+ * from the collection every {@code rebuild-interval} to pick up the others'.
+ * Registration itself never relies on them; the unique indexes decide.
+ */
+@Slf4j
+@Service
+public class UserAvailabilityService {
+    
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final Counter usernamesFiltered;
+    private final Counter usernamesQueried;
+    private final Counter emailsFiltered;
+    private final Counter emailsQueried;
+    // Null until the first build completes; lookups query MongoDB until then
+    private volatile Filters filters;
+    // Receives registrations made while a rebuild is reading the collection
+    private volatile Filters building;
+    
+    public UserAvailabilityService(UserRepository userRepository,
+                                   @Value("${auth.availability.expected-users:1000000}") long expectedUsers,
+                                   @Value("${auth.availability.false-positive-rate:0.01}") double falsePositiveRate,
+                                   MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.usernamesFiltered = checks(meterRegistry, "username", "filtered");
+        this.usernamesQueried = checks(meterRegistry, "username", "queried");
+        this.emailsFiltered = checks(meterRegistry, "email", "filtered");
+        this.emailsQueried = checks(meterRegistry, "email", "queried");
+    }
+    
+    public boolean isUsernameAvailable(String username) {
+        Filters current = filters;
+        if (current != null && !current.usernames.mightContain(username)) {
+            usernamesFiltered.increment();
+            return true;
+        }
+        usernamesQueried.increment();
+        return !userRepository.existsByUsername(username);
+    }
+    
+    public boolean isEmailAvailable(String email) {
+        Filters current = filters;
+        if (current != null && !current.emails.mightContain(email)) {
+            emailsFiltered.increment();
+            return true;
+        }
+        emailsQueried.increment();
+        return !userRepository.existsByEmail(email);
+    }
+    
+    /**
+     * Records a user that has just been inserted.
+     */
+    public void registered(User user) {
+        for (Filters target : new Filters[] {filters, building}) {
+            if (target != null) {
+                target.add(user);
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${auth.availability.rebuild-interval:PT10M}")
+    public void rebuild() {
+        try {
+            // Sized with headroom so registrations until the next rebuild keep the rate down
+            long size = Math.max(expectedUsers, userRepository.count() * 2);
+            Filters rebuilt = new Filters(BloomFilter.create(size, falsePositiveRate),
+                    BloomFilter.create(size, falsePositiveRate));
+            building = rebuilt;
+            long users = 0;
+            try (Stream<User> all = userRepository.streamAllUsernamesAndEmails()) {
+                for (User user : (Iterable<User>) all::iterator) {
+                    rebuilt.add(user);
+                    users++;
+                }
+            }
+            filters = rebuilt;
+            log.debug("Rebuilt availability filters from {} users", users);
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild availability filters; keeping the previous ones: {}", e.toString());
+        } finally {
+            building = null;
+        }
+    }
+    
+    private static Counter checks(MeterRegistry meterRegistry, String field, String result) {
+        return Counter.builder("auth.availability.checks")
+                .tag("field", field)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+        void add(User user) {
+            if (user.getUsername() != null) {
+                usernames.put(user.getUsername());
+            }
+            if (user.getEmail() != null) {
+                emails.put(user.getEmail());
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bank.benchmarks;
+
+import com.bank.account.cache.AccountCache;
+import com.bank.account.dto.BulkCreateAccountsResponse;
+import com.bank.account.dto.CreateAccountRequest;
+import com.bank.account.repository.AccountRepository;
+import com.bank.account.service.AccountImportService;
+import com.bank.account.service.AccountNumberAllocator;
+import com.bank.benchmarks.support.Repositories;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One 100k-row NDJSON import through {@code AccountImportService}, from the request
+ * bytes to the per-row response, with an in-memory repository. Against MongoDB each
+ * chunk adds one counter round trip and one bulk insert on top of this.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AccountImportBenchmark {
+    
+    private static final int ROWS = 100_000;
+    
+    @Param({"100", "1000"})
+    public int chunkSize;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong serials = new AtomicLong();
+    private AccountImportService accountImportService;
+    private byte[] body;
+    
+    @Setup
+    public void setUp() {
+        AccountRepository accountRepository = Repositories.stub(AccountRepository.class, Map.of(
+                "reserveAccountNumbers", args -> serials.getAndAdd((Integer) args[0]),
+                "insertUnordered", args -> List.of()));
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        accountImportService = new AccountImportService(accountRepository,
+                new AccountNumberAllocator(accountRepository, 1000),
+                new AccountCache(10_000, Duration.ofSeconds(30), new SimpleMeterRegistry()),
+                validator, chunkSize);
+        
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            rows.append("{\"userId\":\"user-").append(i % 5_000)
+                    .append("\",\"accountType\":\"SAVINGS\",\"currency\":\"USD\"}\n");
+        }
+        body = rows.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Benchmark
+    public BulkCreateAccountsResponse importAccounts() throws IOException {
+        try (MappingIterator<CreateAccountRequest> requests =
+                     objectMapper.readerFor(CreateAccountRequest.class).readValues(new ByteArrayInputStream(body))) {
+            return accountImportService.importAccounts(requests);
+        }
+    }
+}
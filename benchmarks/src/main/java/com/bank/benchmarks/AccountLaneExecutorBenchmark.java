@@ -0,0 +1,87 @@
+package com.bank.benchmarks;
+
+import com.bank.transaction.execution.AccountLaneExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of single-account and two-account operations routed through
+ * {@link AccountLaneExecutor}. Run with increasing {@code -t} to see how it scales
+ * with cores; the skewed distribution sends 80% of operations to 1% of accounts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountLaneExecutorBenchmark {
+    
+    private static final int ACCOUNTS = 10_000;
+    
+    @Param({"uniform", "skewed"})
+    private String distribution;
+    
+    @Param({"0"})
+    private int lanes;
+    
+    @Param({"200"})
+    private int workTokens;
+    
+    private AccountLaneExecutor executor;
+    private String[] accountIds;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = new AccountLaneExecutor(lanes, 100_000, false);
+        accountIds = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = String.format("%024x", i);
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.destroy();
+    }
+    
+    @Benchmark
+    public Integer singleAccount() {
+        return executor.execute(pickAccount(), this::work);
+    }
+    
+    @Benchmark
+    public Integer transfer() {
+        String from = pickAccount();
+        String to = pickAccount();
+        return executor.execute(from, to, this::work);
+    }
+    
+    private Integer work() {
+        Blackhole.consumeCPU(workTokens);
+        return workTokens;
+    }
+    
+    private String pickAccount() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (distribution.equals("skewed") && random.nextInt(100) < 80) {
+            return accountIds[random.nextInt(ACCOUNTS / 100)];
+        }
+        return accountIds[random.nextInt(ACCOUNTS)];
+    }
+}
@@ -0,0 +1,75 @@
+package com.bank.benchmarks;
+
+import com.bank.account.cache.AccountCache;
+import com.bank.account.dto.AccountResponse;
+import com.bank.account.dto.CreateAccountRequest;
+import com.bank.account.entity.Account;
+import com.bank.account.repository.AccountRepository;
+import com.bank.account.service.AccountNumberAllocator;
+import com.bank.account.service.AccountService;
+import com.bank.benchmarks.support.Repositories;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code AccountService.createAccount} with an in-memory repository, isolating the
+ * cost of account number allocation. One counter round trip per 1000 accounts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountNumberBenchmark {
+    
+    private final Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong serials = new AtomicLong();
+    private AccountService accountService;
+    private CreateAccountRequest request;
+    
+    @Setup
+    public void setUp() {
+        AccountRepository accountRepository = Repositories.stub(AccountRepository.class, Map.of(
+                "reserveAccountNumbers", args -> serials.getAndAdd((Integer) args[0]),
+                "save", args -> {
+                    Account account = (Account) args[0];
+                    // Stands in for the unique index on accountNumber
+                    if (!accountNumbers.add(account.getAccountNumber())) {
+                        throw new DuplicateKeyException(account.getAccountNumber());
+                    }
+                    account.setId(new ObjectId().toHexString());
+                    return account;
+                }));
+        accountService = new AccountService(accountRepository, null,
+                new AccountCache(10_000, Duration.ofSeconds(30), new SimpleMeterRegistry()),
+                new AccountNumberAllocator(accountRepository, 1000));
+        
+        request = new CreateAccountRequest();
+        request.setUserId("user-1");
+        request.setAccountType("SAVINGS");
+    }
+    
+    @Benchmark
+    public AccountResponse createAccount() {
+        return accountService.createAccount(request);
+    }
+}
@@ -0,0 +1,198 @@
+package com.bank.benchmarks;
+
+import com.bank.account.cache.AccountCache;
+import com.bank.account.entity.Account;
+import com.bank.account.grpc.AccountBalancesRpcService;
+import com.bank.account.repository.AccountRepository;
+import com.bank.account.service.AccountService;
+import com.bank.benchmarks.support.Repositories;
+import com.bank.transaction.client.AccountClient;
+import com.bank.transaction.client.AccountClientResilience;
+import com.bank.transaction.client.GrpcAccountClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.hc5.ApacheHttp5Client;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the balance operations transaction-service makes, over the Feign
+ * JSON path and the gRPC path, both against a loopback server in the same process.
+ * Both servers call the same {@code AccountService} over an in-memory repository.
+ * The gRPC side is the real {@code AccountBalancesRpcService}; the HTTP side is a
+ * JDK HTTP server doing the same Jackson conversions as the REST controller. The
+ * clients are the production ones: Feign with Spring's contract and converters on
+ * the pooled Apache client, and {@code GrpcAccountClient}, both behind the circuit
+ * breaker and bulkhead. Run with {@code -prof gc} for allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountRpcBenchmark {
+    
+    private static final BigDecimal AMOUNT = new BigDecimal("1.25");
+    private static final List<String> ACCOUNT_IDS = List.of("acc-1", "acc-2");
+    
+    private final Map<String, BigDecimal> balances = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer httpServer;
+    private ExecutorService httpExecutor;
+    private CloseableHttpClient httpClient;
+    private Server grpcServer;
+    private ManagedChannel channel;
+    private AccountClient feignClient;
+    private AccountClient grpcClient;
+    
+    @Setup
+    public void setUp() throws IOException {
+        ACCOUNT_IDS.forEach(accountId -> balances.put(accountId, new BigDecimal("1000000000.00")));
+        AccountRepository accountRepository = Repositories.stub(AccountRepository.class, Map.of(
+                "adjustBalance", args -> Optional.of(account((String) args[0],
+                        balances.merge((String) args[0], (BigDecimal) args[1], BigDecimal::add))),
+                "findAllById", args -> {
+                    List<Account> accounts = new ArrayList<>();
+                    for (Object accountId : (Iterable<?>) args[0]) {
+                        accounts.add(account((String) accountId, balances.get(accountId)));
+                    }
+                    return accounts;
+                }));
+        AccountService accountService = new AccountService(accountRepository, null,
+                new AccountCache(10_000, Duration.ofSeconds(30), new SimpleMeterRegistry()), null);
+        
+        // Without TCP_NODELAY the JDK server's split header/body writes hit the 40 ms delayed-ACK stall
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        httpExecutor = Executors.newFixedThreadPool(8);
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/api/accounts/", exchange -> handle(exchange, accountService));
+        httpServer.createContext("/internal/accounts/", exchange -> handle(exchange, accountService));
+        httpServer.setExecutor(httpExecutor);
+        httpServer.start();
+        grpcServer = NettyServerBuilder.forPort(0)
+                .addService(new AccountBalancesRpcService(accountService))
+                .build()
+                .start();
+        
+        AccountClientResilience resilience = new AccountClientResilience(50, 50, 20, Duration.ofSeconds(10), 5,
+                64, Duration.ZERO, new SimpleMeterRegistry());
+        ObjectFactory<HttpMessageConverters> converters =
+                () -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper));
+        httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create().build())
+                .build();
+        feignClient = Feign.builder()
+                .client(new ApacheHttp5Client(httpClient))
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(converters))
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(converters)))
+                .addCapability(resilience)
+                .target(AccountClient.class, "http://localhost:" + httpServer.getAddress().getPort());
+        channel = NettyChannelBuilder.forAddress("localhost", grpcServer.getPort()).usePlaintext().build();
+        grpcClient = new GrpcAccountClient(() -> channel, feignClient, resilience, Duration.ofSeconds(3));
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException, InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        grpcServer.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        httpClient.close();
+        httpServer.stop(0);
+        httpExecutor.shutdownNow();
+    }
+    
+    @Benchmark
+    public BigDecimal feignAdjustBalance() {
+        return feignClient.adjustBalance("acc-1", AMOUNT);
+    }
+    
+    @Benchmark
+    public BigDecimal grpcAdjustBalance() {
+        return grpcClient.adjustBalance("acc-1", AMOUNT);
+    }
+    
+    @Benchmark
+    public Map<String, BigDecimal> feignGetBalances() {
+        return feignClient.getBalances(ACCOUNT_IDS);
+    }
+    
+    @Benchmark
+    public Map<String, BigDecimal> grpcGetBalances() {
+        return grpcClient.getBalances(ACCOUNT_IDS);
+    }
+    
+    private void handle(HttpExchange exchange, AccountService accountService) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        Object response;
+        try (InputStream body = exchange.getRequestBody()) {
+            if (path.endsWith("/balance/adjust")) {
+                String accountId = path.substring("/internal/accounts/".length(), path.length() - "/balance/adjust".length());
+                BigDecimal amount = new BigDecimal(exchange.getRequestURI().getQuery().substring("amount=".length()));
+                response = accountService.adjustBalance(accountId, amount);
+            } else if (path.equals("/api/accounts/balances")) {
+                List<String> accountIds = objectMapper.readValue(body,
+                        TypeFactory.defaultInstance().constructCollectionType(List.class, String.class));
+                response = accountService.getBalances(accountIds);
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+        }
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+    
+    private static Account account(String accountId, BigDecimal balance) {
+        Account account = new Account();
+        account.setId(accountId);
+        account.setBalance(balance);
+        return account;
+    }
+}
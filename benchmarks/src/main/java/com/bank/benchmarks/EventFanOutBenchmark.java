@@ -0,0 +1,81 @@
+package com.bank.benchmarks;
+
+import com.bank.gateway.events.UserEventBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of routing one event through the gateway's {@link UserEventBus} with
+ * {@code streams} browser streams open, each watching two accounts. The streams
+ * are drained in place, so this measures the bus rather than the network.
+ * {@code publishToAccount} should stay flat as streams grow, because only the
+ * streams watching the account are touched; {@code publishToAll} is the resync
+ * broadcast and grows with them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventFanOutBenchmark {
+    
+    private static final ServerSentEvent<String> EVENT = ServerSentEvent
+            .builder("{\"accountId\":\"acc-1\",\"balance\":125.50}")
+            .event("balance")
+            .build();
+    
+    @Param({"1000", "10000"})
+    private int streams;
+    
+    private UserEventBus userEventBus;
+    private final List<Disposable> subscriptions = new ArrayList<>();
+    private Blackhole delivered;
+    
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        delivered = blackhole;
+        userEventBus = new UserEventBus(256, Duration.ofSeconds(15), new SimpleMeterRegistry());
+        for (int i = 0; i < streams; i++) {
+            subscriptions.add(userEventBus.subscribe(List.of("acc-" + i, "acc-" + (i + streams)), Mono.empty())
+                    .subscribe(event -> delivered.consume(event)));
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        subscriptions.forEach(Disposable::dispose);
+        subscriptions.clear();
+    }
+    
+    @Benchmark
+    public void publishToAccount() {
+        userEventBus.publish(EVENT, "acc-" + ThreadLocalRandom.current().nextInt(streams * 2));
+    }
+    
+    @Benchmark
+    public void publishToAll() {
+        userEventBus.publishToAll(EVENT);
+    }
+}
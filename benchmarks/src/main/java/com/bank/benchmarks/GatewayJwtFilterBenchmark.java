@@ -0,0 +1,118 @@
+package com.bank.benchmarks;
+
+import com.bank.auth.security.JwtTokenProvider;
+import com.bank.gateway.filter.JwtAuthenticationFilter;
+import com.bank.gateway.security.Revocation;
+import com.bank.gateway.security.RevocationList;
+import com.bank.gateway.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of the gateway's JWT filter on an authenticated request,
+ * from header parsing to handing the exchange to the rest of the chain.
+ * {@code baselineRebuildParser} reproduces the original filter, which rebuilt the
+ * key and parser for every request; {@code maxEntries=0} measures the precomputed
+ * parser alone and a positive value adds the verified-token cache, with requests
+ * spread over {@code sessions} distinct tokens. {@code revocations} loads that many
+ * revoked ids into the revocation list's filter (plus a thousand recent ones), none
+ * of them matching the tokens in use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayJwtFilterBenchmark {
+    
+    private static final GatewayFilterChain PASS_THROUGH = exchange -> Mono.empty();
+    
+    @Param({"0", "10000"})
+    private int maxEntries;
+    
+    @Param({"1000"})
+    private int sessions;
+    
+    @Param({"0", "100000"})
+    private int revocations;
+    
+    private GatewayFilter filter;
+    private String[] authorizations;
+    
+    @Setup
+    public void setUp() {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", JwtTokenProviderBenchmark.SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationMs", 86_400_000L);
+        authorizations = new String[sessions];
+        for (int i = 0; i < sessions; i++) {
+            authorizations[i] = "Bearer " + jwtTokenProvider.generateToken("user" + i, "user-" + i, Set.of("ROLE_USER"));
+        }
+        
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(maxEntries, new SimpleMeterRegistry());
+        RevocationList revocationList = new RevocationList(0.0001, 10_000, new SimpleMeterRegistry());
+        long expiresAt = System.currentTimeMillis() + 900_000;
+        List<Revocation> revoked = new ArrayList<>();
+        for (int i = 0; i < revocations; i++) {
+            revoked.add(new Revocation(UUID.randomUUID().toString(), expiresAt));
+        }
+        revocationList.replaceAll(revoked);
+        revocationList.addAll(revoked.subList(0, Math.min(1_000, revoked.size())));
+        filter = new JwtAuthenticationFilter(JwtTokenProviderBenchmark.SECRET, verifiedTokenCache, revocationList,
+                new SimpleMeterRegistry())
+                .apply(new JwtAuthenticationFilter.Config());
+    }
+    
+    @Benchmark
+    public HttpStatusCode authenticatedRequest() {
+        MockServerWebExchange exchange = newExchange();
+        filter.filter(exchange, PASS_THROUGH).block();
+        return exchange.getResponse().getStatusCode();
+    }
+    
+    @Benchmark
+    public Claims baselineRebuildParser() {
+        String token = newExchange().getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION).substring(7);
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(JwtTokenProviderBenchmark.SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+    
+    private MockServerWebExchange newExchange() {
+        String authorization = authorizations[ThreadLocalRandom.current().nextInt(sessions)];
+        return MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/transactions/account/acc-1")
+                .header(HttpHeaders.AUTHORIZATION, authorization));
+    }
+}
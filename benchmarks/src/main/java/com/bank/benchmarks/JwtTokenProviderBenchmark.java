@@ -0,0 +1,49 @@
+package com.bank.benchmarks;
+
+import com.bank.auth.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+    
+    static final String SECRET = "mySecretKeyForJWTTokenGenerationThatIsLongEnoughForHS512Algorithm";
+    
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationMs", 86_400_000L);
+        token = jwtTokenProvider.generateToken("john_doe", "user-1", Set.of("ROLE_USER"));
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken("john_doe", "user-1", Set.of("ROLE_USER"));
+    }
+    
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+}
@@ -0,0 +1,90 @@
+package com.bank.benchmarks;
+
+import com.bank.benchmarks.support.TempDirectories;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.entity.TransactionType;
+import com.bank.transaction.journal.DiscardingLedgerProjector;
+import com.bank.transaction.journal.LedgerJournal;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable append latency of the ledger journal against the per-request pattern it
+ * replaced, where every record pays for its own synchronous write and flush
+ * (what {@code TransactionRepository.save} costs with a journaled write concern,
+ * minus the network). Sample mode reports the p99; run with {@code -t} above one
+ * to see group commit share forces between writers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedgerJournalBenchmark {
+    
+    private Path directory;
+    private LedgerJournal ledgerJournal;
+    private FileChannel perRequestLog;
+    private final Object perRequestLock = new Object();
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = TempDirectories.create("ledger-journal-bench");
+        ledgerJournal = new LedgerJournal(
+                new DiscardingLedgerProjector(directory.toString()),
+                directory.toString(), 256 * 1024 * 1024, 512, 2);
+        ledgerJournal.open();
+        perRequestLog = FileChannel.open(directory.resolve("per-request.log"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        ledgerJournal.destroy();
+        perRequestLog.close();
+        TempDirectories.delete(directory);
+    }
+    
+    @Benchmark
+    public void journalAppend() {
+        ledgerJournal.append(List.of(newTransaction()));
+    }
+    
+    @Benchmark
+    public void perRequestWriteAndForce() throws IOException {
+        byte[] record = newTransaction().toString().getBytes();
+        synchronized (perRequestLock) {
+            perRequestLog.write(ByteBuffer.wrap(record));
+            perRequestLog.force(false);
+        }
+    }
+    
+    private Transaction newTransaction() {
+        return new Transaction(new ObjectId().toHexString(), "65f1c0ffee0000000000abcd", null,
+                TransactionType.DEPOSIT, new BigDecimal("125.50"), "USD", "Benchmark deposit",
+                TransactionStatus.COMPLETED, LocalDateTime.now());
+    }
+}
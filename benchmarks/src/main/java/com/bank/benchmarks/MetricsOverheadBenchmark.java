@@ -0,0 +1,64 @@
+package com.bank.benchmarks;
+
+import com.bank.benchmarks.support.MeterRegistries;
+import com.bank.transaction.metrics.TransactionMetrics;
+import com.bank.transaction.metrics.TransactionMetrics.Operation;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording one {@code transaction.operations} sample around an empty
+ * operation, against a no-op registry and a Prometheus registry with percentile
+ * histograms, from one thread and from eight threads hitting the same timer.
+ * {@code TransactionServiceBenchmark} puts the same recording in context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+    
+    private static final Object RESULT = new Object();
+    
+    @Param({"none", "prometheus"})
+    private String registry;
+    
+    private TransactionMetrics transactionMetrics;
+    
+    @Setup
+    public void setUp() {
+        MeterRegistry meterRegistry = MeterRegistries.create(registry);
+        transactionMetrics = new TransactionMetrics(meterRegistry);
+    }
+    
+    @Benchmark
+    public Object unrecorded() {
+        return RESULT;
+    }
+    
+    @Benchmark
+    public Object recorded() {
+        return transactionMetrics.record(Operation.DEPOSIT, () -> RESULT);
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public Object recordedContended() {
+        return transactionMetrics.record(Operation.DEPOSIT, () -> RESULT);
+    }
+}
@@ -0,0 +1,91 @@
+package com.bank.benchmarks;
+
+import com.bank.benchmarks.support.Repositories;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.entity.TransactionType;
+import com.bank.transaction.repository.TransactionRepository;
+import com.bank.transaction.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The history read path after the repository returns: mapping a page of
+ * transactions to responses and serializing the resulting page with the same
+ * Jackson setup Spring Boot uses for the endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionHistoryBenchmark {
+    
+    @Param({"10", "100"})
+    private int pageSize;
+    
+    private TransactionService transactionService;
+    private ObjectMapper objectMapper;
+    private Pageable pageable;
+    private Page<TransactionResponse> mappedPage;
+    
+    @Setup
+    public void setUp() {
+        List<Transaction> transactions = new ArrayList<>(pageSize);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < pageSize; i++) {
+            transactions.add(new Transaction(new ObjectId().toHexString(), "acc-1", i % 3 == 0 ? "acc-2" : null,
+                    TransactionType.values()[i % 3], new BigDecimal("125.50"), "USD", "Benchmark transaction " + i,
+                    TransactionStatus.COMPLETED, now.minusMinutes(i)));
+        }
+        pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Page<Transaction> page = new PageImpl<>(transactions, pageable, 10_000);
+        
+        TransactionRepository transactionRepository = Repositories.stub(TransactionRepository.class,
+                Map.of("findByAccountIdOrToAccountId", args -> page));
+        transactionService = new TransactionService(transactionRepository, null, null, null, null);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        mappedPage = transactionService.getTransactionHistory("acc-1", pageable);
+    }
+    
+    @Benchmark
+    public Page<TransactionResponse> mapToResponse() {
+        return transactionService.getTransactionHistory("acc-1", pageable);
+    }
+    
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(mappedPage);
+    }
+    
+    @Benchmark
+    public byte[] mapAndSerializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(transactionService.getTransactionHistory("acc-1", pageable));
+    }
+}
@@ -0,0 +1,114 @@
+package com.bank.benchmarks;
+
+import com.bank.benchmarks.support.InMemoryAccountClient;
+import com.bank.benchmarks.support.MeterRegistries;
+import com.bank.benchmarks.support.Repositories;
+import com.bank.benchmarks.support.TempDirectories;
+import com.bank.transaction.dto.DepositRequest;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.dto.TransferRequest;
+import com.bank.transaction.dto.WithdrawRequest;
+import com.bank.transaction.journal.DiscardingLedgerProjector;
+import com.bank.transaction.journal.LedgerJournal;
+import com.bank.transaction.metrics.TransactionMetrics;
+import com.bank.transaction.repository.TransactionRepository;
+import com.bank.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposit, withdraw and transfer through {@link TransactionService} with account-service
+ * replaced by an in-memory client. The ledger journal is real and writes to a
+ * temporary directory, so each operation includes its group-committed append.
+ * {@code registry} selects where the {@code transaction.operations} timers record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionServiceBenchmark {
+    
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000000.00");
+    
+    @Param({"none", "prometheus"})
+    private String registry;
+    
+    private Path journalDirectory;
+    private LedgerJournal ledgerJournal;
+    private TransactionService transactionService;
+    private DepositRequest depositRequest;
+    private WithdrawRequest withdrawRequest;
+    private TransferRequest transferRequest;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        journalDirectory = TempDirectories.create("ledger-bench");
+        ledgerJournal = new LedgerJournal(
+                new DiscardingLedgerProjector(journalDirectory.toString()),
+                journalDirectory.toString(), 64 * 1024 * 1024, 512, 2);
+        ledgerJournal.open();
+        
+        InMemoryAccountClient accountClient = new InMemoryAccountClient();
+        accountClient.open("acc-1", OPENING_BALANCE);
+        accountClient.open("acc-2", OPENING_BALANCE);
+        
+        TransactionRepository transactionRepository = Repositories.stub(TransactionRepository.class, Map.of());
+        transactionService = new TransactionService(transactionRepository, accountClient, ledgerJournal,
+                new TransactionMetrics(MeterRegistries.create(registry)), event -> { });
+        
+        depositRequest = new DepositRequest();
+        depositRequest.setAccountId("acc-1");
+        depositRequest.setAmount(new BigDecimal("10.00"));
+        depositRequest.setDescription("Benchmark deposit");
+        
+        withdrawRequest = new WithdrawRequest();
+        withdrawRequest.setAccountId("acc-1");
+        withdrawRequest.setAmount(new BigDecimal("1.00"));
+        withdrawRequest.setDescription("Benchmark withdrawal");
+        
+        transferRequest = new TransferRequest();
+        transferRequest.setFromAccountId("acc-1");
+        transferRequest.setToAccountId("acc-2");
+        transferRequest.setAmount(new BigDecimal("1.00"));
+        transferRequest.setDescription("Benchmark transfer");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        ledgerJournal.destroy();
+        TempDirectories.delete(journalDirectory);
+    }
+    
+    @Benchmark
+    public TransactionResponse deposit() {
+        return transactionService.deposit(depositRequest);
+    }
+    
+    @Benchmark
+    public TransactionResponse withdraw() {
+        return transactionService.withdraw(withdrawRequest);
+    }
+    
+    @Benchmark
+    public TransactionResponse transfer() {
+        return transactionService.transfer(transferRequest);
+    }
+}
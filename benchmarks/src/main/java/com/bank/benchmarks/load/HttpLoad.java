@@ -0,0 +1,179 @@
+package com.bank.benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Closed-loop HTTP load driver for comparing two execution modes of a running
+ * service, e.g. account-service on Spring MVC against its {@code reactive} profile,
+ * or transaction-service on platform threads against its {@code virtual-threads}
+ * profile. Each of {@code concurrency} clients issues its next request as soon as
+ * the previous one completes, so throughput is bounded by how many requests the
+ * server can keep in flight at once. Any 2xx response counts as a success.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.bank.benchmarks.load.HttpLoad \
+ *     --url=http://localhost:8082/api/accounts/{id}/balance --concurrency=1000 --duration=30s
+ * java -cp benchmarks/target/benchmarks.jar com.bank.benchmarks.load.HttpLoad \
+ *     --method=POST --url=http://localhost:8083/api/transactions/deposit \
+ *     --body='{"accountId":"{id}","amount":1.00}' --concurrency=2000
+ * </pre>
+ */
+public final class HttpLoad {
+    
+    private HttpLoad() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        URI uri = URI.create(required(options, "url"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "1000"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "30s"));
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String body = options.get("body");
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .method(options.getOrDefault("method", body == null ? "GET" : "POST"),
+                        body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            System.out.printf("Warming up %s %s with %d clients for %s%n", request.method(), uri, concurrency, warmup);
+            run(client, request, concurrency, warmup);
+            System.out.printf("Measuring for %s%n", duration);
+            run(client, request, concurrency, duration).print(duration);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, Duration duration)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        Worker[] workers = new Worker[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            workers[i] = new Worker(client, request, deadline, finished);
+            workers[i].next();
+        }
+        finished.await();
+        return Result.merge(workers);
+    }
+    
+    /**
+     * One virtual client. Its requests run strictly one after another, so the
+     * latency buffer is only ever touched by one completion at a time.
+     */
+    private static final class Worker {
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final long deadline;
+        private final CountDownLatch finished;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        
+        Worker(HttpClient client, HttpRequest request, long deadline, CountDownLatch finished) {
+            this.client = client;
+            this.request = request;
+            this.deadline = deadline;
+            this.finished = finished;
+        }
+        
+        void next() {
+            long start = System.nanoTime();
+            if (start - deadline >= 0) {
+                finished.countDown();
+                return;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (failure != null || response.statusCode() / 100 != 2) {
+                            errors++;
+                        } else {
+                            record(System.nanoTime() - start);
+                        }
+                        next();
+                    });
+        }
+        
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+    
+    private record Result(long[] latencies, long errors) {
+        
+        static Result merge(Worker[] workers) {
+            int total = 0;
+            long errors = 0;
+            for (Worker worker : workers) {
+                total += worker.count;
+                errors += worker.errors;
+            }
+            long[] latencies = new long[total];
+            int offset = 0;
+            for (Worker worker : workers) {
+                System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+                offset += worker.count;
+            }
+            Arrays.sort(latencies);
+            return new Result(latencies, errors);
+        }
+        
+        void print(Duration duration) {
+            System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+                    latencies.length, errors, latencies.length / (duration.toMillis() / 1000.0));
+            if (latencies.length > 0) {
+                System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f max=%.2f%n",
+                        percentile(0.50), percentile(0.90), percentile(0.99), latencies[latencies.length - 1] / 1e6);
+            }
+        }
+        
+        private double percentile(double p) {
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1e6;
+        }
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+    
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required option --" + name);
+        }
+        return value;
+    }
+    
+    private static Duration parseDuration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
@@ -0,0 +1,74 @@
+package com.bank.benchmarks.support;
+
+import com.bank.transaction.client.AccountClient;
+import com.bank.transaction.dto.TransferRequest;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link AccountClient} backed by a map, standing in for account-service so the
+ * transaction hot path can be measured without HTTP or MongoDB.
+ */
+public class InMemoryAccountClient implements AccountClient {
+    
+    private final Map<String, BigDecimal> balances = new ConcurrentHashMap<>();
+    
+    public void open(String accountId, BigDecimal balance) {
+        balances.put(accountId, balance);
+    }
+    
+    @Override
+    public BigDecimal getBalance(String accountId) {
+        return balances.get(accountId);
+    }
+    
+    @Override
+    public void updateBalance(String accountId, BigDecimal balance) {
+        balances.put(accountId, balance);
+    }
+    
+    @Override
+    public BigDecimal adjustBalance(String accountId, BigDecimal amount) {
+        return balances.compute(accountId, (id, balance) -> {
+            if (balance == null) {
+                throw new IllegalStateException("Account not found");
+            }
+            BigDecimal updated = balance.add(amount);
+            if (updated.signum() < 0) {
+                throw new IllegalStateException("Insufficient balance");
+            }
+            return updated;
+        });
+    }
+    
+    @Override
+    public Map<String, BigDecimal> getBalances(Collection<String> accountIds) {
+        Map<String, BigDecimal> result = new HashMap<>();
+        accountIds.forEach(id -> {
+            BigDecimal balance = balances.get(id);
+            if (balance != null) {
+                result.put(id, balance);
+            }
+        });
+        return result;
+    }
+    
+    @Override
+    public Map<String, BigDecimal> adjustBalances(Map<String, BigDecimal> deltas) {
+        Map<String, BigDecimal> result = new HashMap<>();
+        deltas.forEach((id, delta) -> result.put(id, adjustBalance(id, delta)));
+        return result;
+    }
+    
+    @Override
+    public Map<String, BigDecimal> transfer(TransferRequest request) {
+        Map<String, BigDecimal> result = new HashMap<>();
+        result.put(request.getFromAccountId(), adjustBalance(request.getFromAccountId(), request.getAmount().negate()));
+        result.put(request.getToAccountId(), adjustBalance(request.getToAccountId(), request.getAmount()));
+        return result;
+    }
+}
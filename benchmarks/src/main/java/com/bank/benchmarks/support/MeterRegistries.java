@@ -0,0 +1,40 @@
+package com.bank.benchmarks.support;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+public final class MeterRegistries {
+    
+    private MeterRegistries() {
+    }
+    
+    /**
+     * {@code none} is an empty composite registry, whose meters are no-ops;
+     * {@code prometheus} matches the services' configuration, with a percentile
+     * histogram on every timer.
+     */
+    public static MeterRegistry create(String kind) {
+        return switch (kind) {
+            case "none" -> new CompositeMeterRegistry();
+            case "prometheus" -> {
+                PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+                registry.config().meterFilter(new MeterFilter() {
+                    @Override
+                    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                        return DistributionStatisticConfig.builder()
+                                .percentilesHistogram(id.getType() == Meter.Type.TIMER)
+                                .build()
+                                .merge(config);
+                    }
+                });
+                yield registry;
+            }
+            default -> throw new IllegalArgumentException("Unknown registry: " + kind);
+        };
+    }
+}
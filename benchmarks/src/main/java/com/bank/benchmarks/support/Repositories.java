@@ -0,0 +1,40 @@
+package com.bank.benchmarks.support;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Builds Spring Data repository stand-ins from a handful of method bodies. Calls
+ * to any method that was not provided fail fast, so a benchmark cannot silently
+ * exercise a path it did not set up.
+ */
+public final class Repositories {
+    
+    private Repositories() {
+    }
+    
+    public static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> methods) {
+        Object proxy = Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[] {repositoryType},
+                (instance, method, args) -> {
+                    Function<Object[], Object> body = methods.get(method.getName());
+                    if (body != null) {
+                        return body.apply(args);
+                    }
+                    switch (method.getName()) {
+                        case "toString":
+                            return repositoryType.getSimpleName() + " stub";
+                        case "hashCode":
+                            return System.identityHashCode(instance);
+                        case "equals":
+                            return instance == args[0];
+                        default:
+                            break;
+                    }
+                    throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+                });
+        return repositoryType.cast(proxy);
+    }
+}
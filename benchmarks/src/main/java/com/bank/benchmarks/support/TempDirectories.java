@@ -0,0 +1,28 @@
+package com.bank.benchmarks.support;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public final class TempDirectories {
+    
+    private TempDirectories() {
+    }
+    
+    public static Path create(String prefix) throws IOException {
+        return Files.createTempDirectory(prefix);
+    }
+    
+    public static void delete(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
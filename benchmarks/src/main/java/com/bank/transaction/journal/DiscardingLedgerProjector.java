@@ -0,0 +1,33 @@
+package com.bank.transaction.journal;
+
+import com.bank.transaction.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * Projector stand-in that drops committed records, so journal benchmarks measure
+ * the append and group commit path without a MongoDB behind it.
+ */
+public class DiscardingLedgerProjector extends LedgerProjector {
+    
+    public DiscardingLedgerProjector(String directory) {
+        super(null, directory, 512, 1024);
+    }
+    
+    @Override
+    long loadCheckpoint() {
+        return 0;
+    }
+    
+    @Override
+    void start(LedgerJournal journal) {
+    }
+    
+    @Override
+    void expect(List<Transaction> transactions) {
+    }
+    
+    @Override
+    void submit(List<LedgerEntry> entries) {
+    }
+}
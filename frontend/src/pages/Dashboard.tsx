@@ -1,14 +1,17 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useCallback, useRef } from 'react';
 import { useAuth } from '../context/AuthContext';
 import { accountService } from '../services/accountService';
+import { eventService } from '../services/eventService';
 import { transactionService } from '../services/transactionService';
 import { Account, Transaction } from '../types';
 import '../styles/Dashboard.css';
 
+const TRANSACTION_PAGE_SIZE = 20;
+
 const Dashboard: React.FC = () => {
   const { user, logout } = useAuth();
   const [accounts, setAccounts] = useState<Account[]>([]);
-  const [selectedAccount, setSelectedAccount] = useState<Account | null>(null);
+  const [selectedAccountId, setSelectedAccountId] = useState<string | null>(null);
   const [transactions, setTransactions] = useState<Transaction[]>([]);
   const [loading, setLoading] = useState(true);
   const [showCreateAccount, setShowCreateAccount] = useState(false);
@@ -20,61 +23,80 @@ const Dashboard: React.FC = () => {
   const [toAccountId, setToAccountId] = useState('');
   const [description, setDescription] = useState('');
   const [error, setError] = useState('');
+  // Bumped to reopen the event stream, e.g. so a new account's events are routed to it
+  const [streamGeneration, setStreamGeneration] = useState(0);
+  const selectedAccountIdRef = useRef<string | null>(null);
 
-  useEffect(() => {
-    const loadData = async () => {
-      if (!user) return;
-      try {
-        const data = await accountService.getAccountsByUserId(user.id);
-        setAccounts(data);
-        if (data.length > 0 && !selectedAccount) {
-          setSelectedAccount(data[0]);
-        }
-      } catch (err) {
-        console.error('Failed to load accounts', err);
-      } finally {
-        setLoading(false);
-      }
-    };
-    loadData();
-  }, [user, selectedAccount]);
-
-  useEffect(() => {
-    if (selectedAccount) {
-      loadTransactions(selectedAccount.id);
-    }
-  }, [selectedAccount]);
+  const selectedAccount = accounts.find((account) => account.id === selectedAccountId) || null;
 
-  const loadAccounts = async () => {
+  const loadAccounts = useCallback(async () => {
     if (!user) return;
     try {
       const data = await accountService.getAccountsByUserId(user.id);
       setAccounts(data);
-      if (data.length > 0) {
-        const current = data.find(acc => acc.id === selectedAccount?.id) || data[0];
-        setSelectedAccount(current);
-      }
+      setSelectedAccountId((current) =>
+        current && data.some((acc) => acc.id === current) ? current : data[0]?.id ?? null
+      );
     } catch (err) {
       console.error('Failed to load accounts', err);
+    } finally {
+      setLoading(false);
     }
-  };
+  }, [user]);
 
-  const loadTransactions = async (accountId: string) => {
+  const loadTransactions = useCallback(async (accountId: string) => {
     try {
-      const data = await transactionService.getTransactionHistory(accountId, 0, 20);
+      const data = await transactionService.getTransactionHistory(accountId, 0, TRANSACTION_PAGE_SIZE);
       setTransactions(data.content || []);
     } catch (err) {
       console.error('Failed to load transactions', err);
     }
-  };
+  }, []);
+
+  useEffect(() => {
+    selectedAccountIdRef.current = selectedAccountId;
+    if (selectedAccountId) {
+      loadTransactions(selectedAccountId);
+    }
+  }, [selectedAccountId, loadTransactions]);
+
+  // Balances and new transactions are pushed by the gateway as they commit; state is
+  // only fetched when the stream (re)opens or reports that events were lost
+  useEffect(() => {
+    if (!user) return;
+    return eventService.subscribe({
+      onResync: () => {
+        loadAccounts();
+        if (selectedAccountIdRef.current) {
+          loadTransactions(selectedAccountIdRef.current);
+        }
+      },
+      onBalance: ({ accountId, balance }) => {
+        setAccounts((current) =>
+          current.map((acc) => (acc.id === accountId ? { ...acc, balance } : acc))
+        );
+      },
+      onTransaction: (transaction) => {
+        const accountId = selectedAccountIdRef.current;
+        if (transaction.accountId !== accountId && transaction.toAccountId !== accountId) return;
+        setTransactions((current) =>
+          current.some((t) => t.id === transaction.id)
+            ? current
+            : [transaction, ...current].slice(0, TRANSACTION_PAGE_SIZE)
+        );
+      },
+    });
+  }, [user, loadAccounts, loadTransactions, streamGeneration]);
 
   const handleCreateAccount = async (e: React.FormEvent) => {
     e.preventDefault();
     if (!user) return;
     try {
-      await accountService.createAccount(user.id, accountType);
+      const account = await accountService.createAccount(user.id, accountType);
       setShowCreateAccount(false);
-      loadAccounts();
+      setAccounts((current) => [...current, account]);
+      setSelectedAccountId((current) => current ?? account.id);
+      setStreamGeneration((generation) => generation + 1);
       alert('Account created successfully!');
     } catch (err) {
       alert('Failed to create account');
@@ -94,8 +116,6 @@ const Dashboard: React.FC = () => {
       setShowDepositForm(false);
       setAmount('');
       setDescription('');
-      loadAccounts();
-      loadTransactions(selectedAccount.id);
       alert('Deposit successful!');
     } catch (err: any) {
       setError(err.response?.data?.message || 'Deposit failed');
@@ -115,8 +135,6 @@ const Dashboard: React.FC = () => {
       setShowWithdrawForm(false);
       setAmount('');
       setDescription('');
-      loadAccounts();
-      loadTransactions(selectedAccount.id);
       alert('Withdrawal successful!');
     } catch (err: any) {
       setError(err.response?.data?.message || 'Withdrawal failed');
@@ -138,8 +156,6 @@ const Dashboard: React.FC = () => {
       setAmount('');
       setToAccountId('');
       setDescription('');
-      loadAccounts();
-      loadTransactions(selectedAccount.id);
       alert('Transfer successful!');
     } catch (err: any) {
       setError(err.response?.data?.message || 'Transfer failed');
@@ -207,7 +223,7 @@ const Dashboard: React.FC = () => {
                 className={`account-card ${
                   selectedAccount?.id === account.id ? 'selected' : ''
                 }`}
-                onClick={() => setSelectedAccount(account)}
+                onClick={() => setSelectedAccountId(account.id)}
               >
                 <div className="account-type">{account.accountType}</div>
                 <div className="account-number">****{account.accountNumber.slice(-4)}</div>
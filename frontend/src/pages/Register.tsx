@@ -9,9 +9,32 @@ const Register: React.FC = () => {
   const [password, setPassword] = useState('');
   const [confirmPassword, setConfirmPassword] = useState('');
   const [error, setError] = useState('');
+  const [usernameTaken, setUsernameTaken] = useState(false);
+  const [emailTaken, setEmailTaken] = useState(false);
   const [loading, setLoading] = useState(false);
   const navigate = useNavigate();
 
+  // Checked when a field loses focus rather than per keystroke
+  const checkUsername = async () => {
+    if (username.length < 3) return;
+    try {
+      const { usernameAvailable } = await authService.checkAvailability({ username });
+      setUsernameTaken(usernameAvailable === false);
+    } catch {
+      setUsernameTaken(false);
+    }
+  };
+
+  const checkEmail = async () => {
+    if (!email) return;
+    try {
+      const { emailAvailable } = await authService.checkAvailability({ email });
+      setEmailTaken(emailAvailable === false);
+    } catch {
+      setEmailTaken(false);
+    }
+  };
+
   const handleSubmit = async (e: React.FormEvent) => {
     e.preventDefault();
     setError('');
@@ -56,11 +79,16 @@ const Register: React.FC = () => {
               type="text"
               id="username"
               value={username}
-              onChange={(e) => setUsername(e.target.value)}
+              onChange={(e) => {
+                setUsername(e.target.value);
+                setUsernameTaken(false);
+              }}
+              onBlur={checkUsername}
               required
               minLength={3}
               disabled={loading}
             />
+            {usernameTaken && <div className="error-message">Username already exists</div>}
           </div>
           <div className="form-group">
             <label htmlFor="email">Email</label>
@@ -68,10 +96,15 @@ const Register: React.FC = () => {
               type="email"
               id="email"
               value={email}
-              onChange={(e) => setEmail(e.target.value)}
+              onChange={(e) => {
+                setEmail(e.target.value);
+                setEmailTaken(false);
+              }}
+              onBlur={checkEmail}
               required
               disabled={loading}
             />
+            {emailTaken && <div className="error-message">Email already exists</div>}
           </div>
           <div className="form-group">
             <label htmlFor="password">Password</label>
@@ -7,17 +7,31 @@ export const authService = {
     return response.data;
   },
 
+  checkAvailability: async (
+    params: { username?: string; email?: string }
+  ): Promise<{ usernameAvailable?: boolean; emailAvailable?: boolean }> => {
+    const response = await api.get('/auth/availability', { params });
+    return response.data;
+  },
+
   login: async (data: LoginRequest): Promise<AuthResponse> => {
     const response = await api.post('/auth/login', data);
     if (response.data.token) {
       localStorage.setItem('token', response.data.token);
+      localStorage.setItem('refreshToken', response.data.refreshToken);
       localStorage.setItem('user', JSON.stringify(response.data));
     }
     return response.data;
   },
 
   logout: () => {
+    // Revokes the session server-side so its access token stops working at the gateway
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      api.post('/auth/logout', { refreshToken }).catch(() => {});
+    }
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('user');
   },
 
@@ -0,0 +1,120 @@
+import { API_BASE_URL, refreshAccessToken } from './api';
+import { Transaction } from '../types';
+
+export interface BalanceUpdate {
+  accountId: string;
+  balance: number;
+}
+
+export interface EventHandlers {
+  // The stream (re)opened or events were lost, so current state should be fetched
+  onResync: () => void;
+  onBalance: (update: BalanceUpdate) => void;
+  onTransaction: (transaction: Transaction) => void;
+}
+
+const RETRY_DELAYS_MS = [1000, 2000, 5000, 10000, 30000];
+
+const sleep = (ms: number, signal: AbortSignal) =>
+  new Promise<void>((resolve) => {
+    const timer = setTimeout(resolve, ms);
+    signal.addEventListener('abort', () => {
+      clearTimeout(timer);
+      resolve();
+    });
+  });
+
+// Calls onEvent for each complete server-sent event; comments (heartbeats) are skipped
+const readEvents = async (
+  body: ReadableStream<Uint8Array>,
+  onEvent: (event: string, data: string) => void
+) => {
+  const reader = body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  while (true) {
+    const { done, value } = await reader.read();
+    if (done) return;
+    buffer += decoder.decode(value, { stream: true }).replace(/\r\n/g, '\n');
+    let boundary;
+    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+      const frame = buffer.slice(0, boundary);
+      buffer = buffer.slice(boundary + 2);
+      let event = '';
+      const data: string[] = [];
+      frame.split('\n').forEach((line) => {
+        if (line.startsWith('event:')) {
+          event = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+          data.push(line.slice(line.startsWith('data: ') ? 6 : 5));
+        }
+      });
+      if (event) onEvent(event, data.join('\n'));
+    }
+  }
+};
+
+export const eventService = {
+  // Opens the live event stream and keeps it open until the returned function is called.
+  // EventSource cannot send the Authorization header, so the stream is read with fetch.
+  subscribe: (handlers: EventHandlers): (() => void) => {
+    const controller = new AbortController();
+    const { signal } = controller;
+    let attempt = 0;
+    let synced = false;
+
+    const dispatch = (event: string, data: string) => {
+      switch (event) {
+        case 'ready':
+        case 'resync':
+          attempt = 0;
+          synced = true;
+          handlers.onResync();
+          break;
+        case 'balance':
+          handlers.onBalance(JSON.parse(data));
+          break;
+        case 'transaction':
+          handlers.onTransaction(JSON.parse(data));
+          break;
+        default:
+          break;
+      }
+    };
+
+    const run = async () => {
+      while (!signal.aborted) {
+        try {
+          const response = await fetch(`${API_BASE_URL}/events`, {
+            headers: {
+              Accept: 'text/event-stream',
+              Authorization: `Bearer ${localStorage.getItem('token')}`,
+            },
+            signal,
+          });
+          if (response.status === 401) {
+            // Streams also end when the access token expires; reconnect with a fresh one
+            await refreshAccessToken();
+            continue;
+          }
+          if (!response.ok || !response.body) {
+            throw new Error(`Event stream unavailable (${response.status})`);
+          }
+          await readEvents(response.body, dispatch);
+        } catch (err) {
+          if (signal.aborted) return;
+          if (!synced) {
+            // Still show current state while the stream cannot be opened
+            synced = true;
+            handlers.onResync();
+          }
+          if (!localStorage.getItem('refreshToken')) return;
+        }
+        await sleep(RETRY_DELAYS_MS[Math.min(attempt++, RETRY_DELAYS_MS.length - 1)], signal);
+      }
+    };
+
+    run();
+    return () => controller.abort();
+  },
+};
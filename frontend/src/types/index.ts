@@ -7,6 +7,7 @@ export interface User {
 
 export interface AuthResponse {
   token: string;
+  refreshToken: string;
   type: string;
   id: string;
   username: string;
@@ -0,0 +1,48 @@
+package com.bank.common.security;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@link ServiceTokenFilter} for services running on WebFlux.
+ */
+public class ReactiveServiceTokenFilter implements WebFilter, Ordered {
+    
+    private final String token;
+    private final ServiceOnlyPaths paths;
+    
+    public ReactiveServiceTokenFilter(String token, ServiceOnlyPaths paths) {
+        this.token = token;
+        this.paths = paths;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!paths.matches(request.getMethod().name(), request.getPath().pathWithinApplication())
+                || ServiceToken.matches(token, request.getHeaders().getFirst(ServiceToken.HEADER))) {
+            return chain.filter(exchange);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory()
+                .wrap(ServiceTokenFilter.REFUSED_BODY.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+    
+    @Override
+    public int getOrder() {
+        return ServiceTokenAutoConfiguration.FILTER_ORDER;
+    }
+}
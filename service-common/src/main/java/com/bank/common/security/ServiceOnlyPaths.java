@@ -0,0 +1,60 @@
+package com.bank.common.security;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * The requests a service only accepts from other services, from
+ * {@code service.auth.protected-paths}. Each entry is a path pattern, optionally
+ * preceded by an HTTP method: {@code /internal/**} covers every method, while
+ * {@code POST /api/accounts/transfer} leaves other methods on that path open.
+ * <p>
+ * Paths are matched the way Spring MVC and WebFlux route them, segment by segment
+ * after decoding and dropping {@code ;} parameters, so {@code /intern%61l/x} or
+ * {@code /internal;a=b/x} cannot reach a handler without matching here. Matching
+ * also ignores case, which only ever widens what is protected.
+ */
+public class ServiceOnlyPaths {
+    
+    private static final PathPatternParser PATTERN_PARSER = new PathPatternParser();
+    
+    static {
+        PATTERN_PARSER.setCaseSensitive(false);
+    }
+    
+    private final List<Rule> rules;
+    
+    public ServiceOnlyPaths(List<String> entries) {
+        this.rules = entries.stream()
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .map(Rule::parse)
+                .toList();
+    }
+    
+    public boolean matches(String method, PathContainer path) {
+        return rules.stream().anyMatch(rule -> rule.matches(method, path));
+    }
+    
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+    
+    private record Rule(String method, PathPattern pattern) {
+        
+        static Rule parse(String entry) {
+            int space = entry.indexOf(' ');
+            return space < 0
+                    ? new Rule(null, PATTERN_PARSER.parse(entry))
+                    : new Rule(entry.substring(0, space).toUpperCase(),
+                            PATTERN_PARSER.parse(entry.substring(space + 1).trim()));
+        }
+        
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && pattern.matches(path);
+        }
+    }
+}
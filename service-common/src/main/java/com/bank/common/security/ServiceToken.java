@@ -0,0 +1,24 @@
+package com.bank.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * The shared secret one service presents to another on internal calls, in the
+ * {@value #HEADER} header. Every service and the gateway read it from
+ * {@code service.auth.token}; callers outside the cluster never learn it, so
+ * endpoints that require it are closed to them even when a route reaches them.
+ */
+public final class ServiceToken {
+    
+    public static final String HEADER = "X-Service-Token";
+    
+    private ServiceToken() {
+    }
+    
+    /** Compares in constant time, so the token cannot be guessed byte by byte from response times. */
+    public static boolean matches(String expected, String presented) {
+        return presented != null && MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
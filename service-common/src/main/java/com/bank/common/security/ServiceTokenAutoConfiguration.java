@@ -0,0 +1,64 @@
+package com.bank.common.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * Guards the {@code service.auth.protected-paths} of a service with the
+ * {@link ServiceToken} from {@code service.auth.token}. A service that lists
+ * protected paths refuses to start without a token, rather than leave them open.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "service.auth.protected-paths")
+public class ServiceTokenAutoConfiguration {
+    
+    // Ahead of Spring Security (-100) and just behind the request observation filter
+    static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+    
+    @Bean
+    public ServiceOnlyPaths serviceOnlyPaths(@Value("${service.auth.protected-paths}") List<String> entries) {
+        return new ServiceOnlyPaths(entries);
+    }
+    
+    static String requireToken(String token) {
+        if (!StringUtils.hasText(token)) {
+            throw new IllegalStateException("service.auth.protected-paths is set but service.auth.token is empty");
+        }
+        return token;
+    }
+    
+    // Nested so each web stack's types are only loaded by services that run on it
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletConfiguration {
+        
+        @Bean
+        public FilterRegistrationBean<ServiceTokenFilter> serviceTokenFilter(
+                @Value("${service.auth.token:}") String token, ServiceOnlyPaths serviceOnlyPaths) {
+            FilterRegistrationBean<ServiceTokenFilter> registration =
+                    new FilterRegistrationBean<>(new ServiceTokenFilter(requireToken(token), serviceOnlyPaths));
+            registration.setOrder(FILTER_ORDER);
+            return registration;
+        }
+    }
+    
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class ReactiveConfiguration {
+        
+        @Bean
+        public ReactiveServiceTokenFilter reactiveServiceTokenFilter(
+                @Value("${service.auth.token:}") String token, ServiceOnlyPaths serviceOnlyPaths) {
+            return new ReactiveServiceTokenFilter(requireToken(token), serviceOnlyPaths);
+        }
+    }
+}
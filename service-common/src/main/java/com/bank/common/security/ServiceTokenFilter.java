@@ -0,0 +1,49 @@
+package com.bank.common.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Refuses requests to {@link ServiceOnlyPaths} that do not carry the
+ * {@link ServiceToken}. It runs ahead of the controllers and of Spring Security, so
+ * a route or a {@code permitAll} rule that reaches such an endpoint cannot open it.
+ */
+public class ServiceTokenFilter extends OncePerRequestFilter {
+    
+    static final String REFUSED_BODY = "{\"message\":\"Service credentials required\"}";
+    
+    private final String token;
+    private final ServiceOnlyPaths paths;
+    
+    public ServiceTokenFilter(String token, ServiceOnlyPaths paths) {
+        this.token = token;
+        this.paths = paths;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Parsed the way MVC's handler mappings parse it; not cached, so the dispatcher still parses its own
+        RequestPath path = RequestPath.parse(request.getRequestURI(), request.getContextPath());
+        return !paths.matches(request.getMethod(), path.pathWithinApplication());
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!ServiceToken.matches(token, request.getHeader(ServiceToken.HEADER))) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(REFUSED_BODY);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
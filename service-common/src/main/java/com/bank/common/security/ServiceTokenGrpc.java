@@ -0,0 +1,44 @@
+package com.bank.common.security;
+
+import io.grpc.ClientInterceptor;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.grpc.stub.MetadataUtils;
+
+/**
+ * Carries the {@link ServiceToken} in gRPC call metadata, for internal services
+ * served on a port of their own rather than behind the web filters.
+ */
+public final class ServiceTokenGrpc {
+    
+    private static final Metadata.Key<String> TOKEN_KEY =
+            Metadata.Key.of(ServiceToken.HEADER.toLowerCase(), Metadata.ASCII_STRING_MARSHALLER);
+    
+    private ServiceTokenGrpc() {
+    }
+    
+    /** Attaches the token to every call made through the channel. */
+    public static ClientInterceptor clientInterceptor(String token) {
+        Metadata headers = new Metadata();
+        headers.put(TOKEN_KEY, token);
+        return MetadataUtils.newAttachHeadersInterceptor(headers);
+    }
+    
+    /** Fails calls that do not carry the token with {@code UNAUTHENTICATED}, before they reach the service. */
+    public static ServerInterceptor serverInterceptor(String token) {
+        return new ServerInterceptor() {
+            @Override
+            public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                               ServerCallHandler<Q, R> next) {
+                if (ServiceToken.matches(token, headers.get(TOKEN_KEY))) {
+                    return next.startCall(call, headers);
+                }
+                call.close(Status.UNAUTHENTICATED.withDescription("Service credentials required"), new Metadata());
+                return new ServerCall.Listener<>() { };
+            }
+        };
+    }
+}
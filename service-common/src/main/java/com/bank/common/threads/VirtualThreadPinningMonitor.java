@@ -0,0 +1,66 @@
+package com.bank.common.threads;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs each time a virtual thread stays pinned to its carrier past the threshold,
+ * with the stack that pinned it. A request thread blocked on MongoDB, another
+ * service or password hashing while inside a {@code synchronized} block holds a
+ * carrier for the whole call, which caps concurrency at the carrier count again.
+ * Started by {@link VirtualThreadsAutoConfiguration}.
+ */
+public class VirtualThreadPinningMonitor {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 16;
+    
+    private final Duration threshold;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private RecordingStream recordingStream;
+    
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+    
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+    
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+    
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        StringBuilder stack = new StringBuilder();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null) {
+            stackTrace.getFrames().stream().limit(MAX_FRAMES).forEach(frame -> appendFrame(stack, frame));
+        }
+        log.warn("Virtual thread pinned to its carrier for {} ms{}", event.getDuration().toMillis(), stack);
+    }
+    
+    private static void appendFrame(StringBuilder stack, RecordedFrame frame) {
+        stack.append(System.lineSeparator()).append("\tat ")
+                .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                .append(':').append(frame.getLineNumber());
+    }
+    
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.bank.common.threads;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Watches for pinned virtual threads whenever a service runs on them
+ * ({@code virtual-threads} profile), logging those pinned for longer than
+ * {@code virtual-threads.pinning-threshold}.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsAutoConfiguration {
+    
+    @Bean(destroyMethod = "stop")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(threshold);
+        monitor.start();
+        return monitor;
+    }
+}
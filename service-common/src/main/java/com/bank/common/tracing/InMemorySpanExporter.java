@@ -0,0 +1,70 @@
+package com.bank.common.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the most recent finished spans in memory, dropping the oldest past
+ * {@code maxSpans}, and serves them by trace id through the {@code spans}
+ * actuator endpoint.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+    
+    private final int maxSpans;
+    private final ArrayDeque<SpanData> spans;
+    
+    public InMemorySpanExporter(int maxSpans) {
+        this.maxSpans = maxSpans;
+        this.spans = new ArrayDeque<>(maxSpans);
+    }
+    
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData span : batch) {
+            if (spans.size() == maxSpans) {
+                spans.pollFirst();
+            }
+            spans.addLast(span);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    public List<SpanRecord> getTrace(String traceId) {
+        List<SpanData> matching;
+        synchronized (this) {
+            matching = spans.stream().filter(span -> span.getTraceId().equals(traceId)).toList();
+        }
+        return matching.stream()
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .map(SpanRecord::of)
+                .toList();
+    }
+    
+    public synchronized List<String> getRecentTraceIds(int limit) {
+        Set<String> traceIds = new LinkedHashSet<>();
+        Iterator<SpanData> newestFirst = spans.descendingIterator();
+        while (newestFirst.hasNext() && traceIds.size() < limit) {
+            traceIds.add(newestFirst.next().getTraceId());
+        }
+        return List.copyOf(traceIds);
+    }
+    
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
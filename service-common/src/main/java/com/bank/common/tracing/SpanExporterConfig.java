@@ -0,0 +1,39 @@
+package com.bank.common.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * The local sink finished spans are exported to, picked by
+ * {@code tracing.exporter.type}: {@code memory} (the default) keeps recent spans for
+ * the {@code spans} actuator endpoint, {@code file} appends them to
+ * {@code tracing.exporter.file.path}. Imported by each service's own tracing
+ * configuration.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SpanExporterConfig {
+    
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter.type", havingValue = "memory", matchIfMissing = true)
+    public InMemorySpanExporter inMemorySpanExporter(@Value("${tracing.exporter.memory.max-spans:10000}") int maxSpans) {
+        return new InMemorySpanExporter(maxSpans);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter.type", havingValue = "memory", matchIfMissing = true)
+    public SpansEndpoint spansEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+        return new SpansEndpoint(inMemorySpanExporter);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter.type", havingValue = "file")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.exporter.file.path}") Path path,
+                                             ObjectMapper objectMapper) {
+        return new FileSpanExporter(path, objectMapper);
+    }
+}
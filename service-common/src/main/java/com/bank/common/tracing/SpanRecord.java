@@ -0,0 +1,45 @@
+package com.bank.common.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A finished span as written by the local sinks: one JSON object per span, so the
+ * files of several services can be concatenated and grouped by {@code traceId}.
+ */
+public record SpanRecord(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String service,
+        String name,
+        String kind,
+        long startEpochMicros,
+        long durationMicros,
+        String status,
+        Map<String, Object> attributes) {
+    
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+    
+    public static SpanRecord of(SpanData span) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        SpanContext parent = span.getParentSpanContext();
+        return new SpanRecord(
+                span.getTraceId(),
+                span.getSpanId(),
+                parent.isValid() ? parent.getSpanId() : null,
+                span.getResource().getAttribute(SERVICE_NAME),
+                span.getName(),
+                span.getKind().name(),
+                TimeUnit.NANOSECONDS.toMicros(span.getStartEpochNanos()),
+                TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                span.getStatus().getStatusCode().name(),
+                attributes);
+    }
+}
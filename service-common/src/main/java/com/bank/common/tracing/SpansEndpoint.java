@@ -0,0 +1,34 @@
+package com.bank.common.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/spans} lists the most recent trace ids held by the in-memory
+ * sink and {@code /actuator/spans/{traceId}} returns that trace's spans from this
+ * service, oldest first.
+ */
+@Endpoint(id = "spans")
+public class SpansEndpoint {
+    
+    private static final int RECENT_TRACES = 50;
+    
+    private final InMemorySpanExporter spanExporter;
+    
+    public SpansEndpoint(InMemorySpanExporter spanExporter) {
+        this.spanExporter = spanExporter;
+    }
+    
+    @ReadOperation
+    public List<String> recentTraces() {
+        return spanExporter.getRecentTraceIds(RECENT_TRACES);
+    }
+    
+    @ReadOperation
+    public List<SpanRecord> trace(@Selector String traceId) {
+        return spanExporter.getTrace(traceId);
+    }
+}
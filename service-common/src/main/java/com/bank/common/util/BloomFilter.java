@@ -0,0 +1,79 @@
+package com.bank.common.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings that tolerates concurrent inserts and reads.
+ * Never reports a false negative for a value whose {@link #put} has returned; false
+ * positives occur at about the rate it was sized for.
+ */
+public final class BloomFilter {
+    
+    private static final double LN2 = Math.log(2);
+    
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+    
+    /**
+     * Sizes the filter so that {@code expectedInsertions} entries give roughly
+     * {@code falsePositiveRate}.
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(expectedInsertions, 1);
+        long m = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * LN2));
+        return new BloomFilter(m, k);
+    }
+    
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            bits.getAndAccumulate((int) (bit >>> 6), mask, (word, set) -> word | set);
+        }
+    }
+    
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public long sizeInBytes() {
+        return bits.length() * 8L;
+    }
+    
+    // 64-bit FNV-1a followed by a murmur3 finalizer to spread the low bits
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+    
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
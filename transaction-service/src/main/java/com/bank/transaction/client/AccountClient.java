@@ -1,19 +1,36 @@
 package com.bank.transaction.client;
 
+import com.bank.transaction.dto.TransferRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
 
-@FeignClient(name = "account-service")
+@FeignClient(name = "account-service", qualifiers = "httpAccountClient", primary = false)
 public interface AccountClient {
     
     @GetMapping("/api/accounts/{accountId}/balance")
     BigDecimal getBalance(@PathVariable("accountId") String accountId);
     
-    @PutMapping("/api/accounts/{accountId}/balance")
+    @PutMapping("/internal/accounts/{accountId}/balance")
     void updateBalance(@PathVariable("accountId") String accountId, @RequestParam("balance") BigDecimal balance);
+    
+    @PostMapping("/internal/accounts/{accountId}/balance/adjust")
+    BigDecimal adjustBalance(@PathVariable("accountId") String accountId, @RequestParam("amount") BigDecimal amount);
+    
+    @PostMapping("/api/accounts/balances")
+    Map<String, BigDecimal> getBalances(@RequestBody Collection<String> accountIds);
+    
+    @PostMapping("/internal/accounts/balances/adjust")
+    Map<String, BigDecimal> adjustBalances(@RequestBody Map<String, BigDecimal> deltas);
+    
+    @PostMapping("/internal/accounts/transfer")
+    Map<String, BigDecimal> transfer(@RequestBody TransferRequest request);
 }
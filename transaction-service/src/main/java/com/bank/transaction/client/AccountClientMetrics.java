@@ -0,0 +1,69 @@
+package com.bank.transaction.client;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every {@link AccountClient} call as {@code account.client.requests}, tagged
+ * with the client method and an outcome derived from the response status
+ * ({@code success}, {@code client_error}, {@code server_error}) or {@code io_error}
+ * when no response arrived. Wraps the load-balanced client, so instance selection
+ * is included. Registered as a Feign {@link Capability}, which OpenFeign applies
+ * to every client in the application.
+ */
+@Component
+public class AccountClientMetrics implements Capability {
+    
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    
+    public AccountClientMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            long start = System.nanoTime();
+            String outcome = "io_error";
+            try {
+                Response response = client.execute(request, options);
+                outcome = outcome(response.status());
+                return response;
+            } finally {
+                timer(method(request), outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+    
+    private Timer timer(String method, String outcome) {
+        return timers.computeIfAbsent(method + ':' + outcome, key -> Timer.builder("account.client.requests")
+                .description("Calls to account-service")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+    
+    private static String method(Request request) {
+        return request.requestTemplate().methodMetadata().method().getName();
+    }
+    
+    private static String outcome(int status) {
+        if (status >= 500) {
+            return "server_error";
+        }
+        if (status >= 400) {
+            return "client_error";
+        }
+        return "success";
+    }
+}
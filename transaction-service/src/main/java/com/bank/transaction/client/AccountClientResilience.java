@@ -0,0 +1,125 @@
+package com.bank.transaction.client;
+
+import com.bank.transaction.exception.AccountServiceException;
+import com.bank.transaction.exception.AccountServiceUnavailableException;
+import feign.Capability;
+import feign.Client;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Guards every {@link AccountClient} call with a circuit breaker and a bulkhead so a
+ * slow or failing account-service cannot hold every transaction-service thread.
+ * Connection failures, timeouts and 5xx responses count against the breaker; once
+ * it opens, calls fail immediately with {@link AccountServiceException} until it
+ * lets a few trial calls through. The bulkhead caps calls in flight and refuses the
+ * rest the same way. Breaker state, call outcomes and bulkhead usage are published
+ * under {@code resilience4j.circuitbreaker.*} and {@code resilience4j.bulkhead.*}.
+ */
+@Component
+public class AccountClientResilience implements Capability {
+    
+    private static final String NAME = "account-service";
+    
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    
+    public AccountClientResilience(
+            @Value("${transaction.account-client.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${transaction.account-client.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${transaction.account-client.circuit-breaker.minimum-number-of-calls:20}") int minimumNumberOfCalls,
+            @Value("${transaction.account-client.circuit-breaker.wait-duration-in-open-state:10s}") Duration openDuration,
+            @Value("${transaction.account-client.circuit-breaker.permitted-calls-in-half-open-state:5}") int halfOpenCalls,
+            @Value("${transaction.account-client.bulkhead.max-concurrent-calls:64}") int maxConcurrentCalls,
+            @Value("${transaction.account-client.bulkhead.max-wait:0ms}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        this.circuitBreaker = circuitBreakers.circuitBreaker(NAME);
+        this.bulkhead = bulkheads.bulkhead(NAME);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+    
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            acquirePermission();
+            long start = System.nanoTime();
+            try {
+                Response response = client.execute(request, options);
+                if (response.status() >= 500) {
+                    circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS,
+                            new AccountServiceException("Account service responded " + response.status()));
+                } else {
+                    circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                return response;
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                throw e;
+            } finally {
+                bulkhead.onComplete();
+            }
+        };
+    }
+    
+    /**
+     * Runs a call made outside Feign under the same breaker and bulkhead. Exceptions
+     * matching {@code isFailure} count against the breaker; the rest, such as a
+     * rejected overdraft, count as successful calls.
+     */
+    public <T> T call(Supplier<T> call, Predicate<RuntimeException> isFailure) {
+        acquirePermission();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            if (isFailure.test(e)) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            } else {
+                circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            throw e;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+    
+    private void acquirePermission() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new AccountServiceUnavailableException("Account service is unavailable, please retry later");
+        }
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            throw new AccountServiceUnavailableException("Too many calls to account service in progress, please retry");
+        }
+    }
+}
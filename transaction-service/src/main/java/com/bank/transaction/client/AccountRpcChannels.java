@@ -0,0 +1,71 @@
+package com.bank.transaction.client;
+
+import com.bank.common.security.ServiceTokenGrpc;
+import io.grpc.Channel;
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcClientInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One HTTP/2 channel per account-service instance, shared by all calls to it, with
+ * the instance for each call chosen by the Spring Cloud load balancer like the Feign
+ * path. An instance's gRPC port comes from its {@code grpc-port} metadata entry.
+ * Calls are observed, so they are timed as {@code grpc.client} and carry the trace
+ * context in their metadata.
+ */
+public class AccountRpcChannels implements DisposableBean {
+    
+    private static final String SERVICE_ID = "account-service";
+    private static final String GRPC_PORT = "grpc-port";
+    
+    private final LoadBalancerClient loadBalancerClient;
+    private final ObservationGrpcClientInterceptor observationInterceptor;
+    private final ClientInterceptor serviceTokenInterceptor;
+    private final int defaultPort;
+    private final Map<String, ManagedChannel> channels = new ConcurrentHashMap<>();
+    
+    public AccountRpcChannels(LoadBalancerClient loadBalancerClient, ObservationRegistry observationRegistry,
+                              String serviceToken, int defaultPort) {
+        this.loadBalancerClient = loadBalancerClient;
+        this.observationInterceptor = new ObservationGrpcClientInterceptor(observationRegistry);
+        this.serviceTokenInterceptor = ServiceTokenGrpc.clientInterceptor(serviceToken);
+        this.defaultPort = defaultPort;
+    }
+    
+    public Channel next() {
+        ServiceInstance instance = loadBalancerClient.choose(SERVICE_ID);
+        if (instance == null) {
+            throw Status.UNAVAILABLE.withDescription("No instance of " + SERVICE_ID + " available").asRuntimeException();
+        }
+        String port = instance.getMetadata().get(GRPC_PORT);
+        String address = instance.getHost() + ':' + (port != null ? port : String.valueOf(defaultPort));
+        return channels.computeIfAbsent(address, this::open);
+    }
+    
+    private ManagedChannel open(String address) {
+        int separator = address.lastIndexOf(':');
+        return NettyChannelBuilder.forAddress(address.substring(0, separator),
+                        Integer.parseInt(address.substring(separator + 1)))
+                .usePlaintext()
+                .intercept(serviceTokenInterceptor, observationInterceptor)
+                .build();
+    }
+    
+    @Override
+    public void destroy() throws InterruptedException {
+        channels.values().forEach(ManagedChannel::shutdown);
+        for (ManagedChannel channel : channels.values()) {
+            channel.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
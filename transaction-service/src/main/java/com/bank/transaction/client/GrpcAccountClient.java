@@ -0,0 +1,115 @@
+package com.bank.transaction.client;
+
+import com.bank.account.rpc.AccountBalancesGrpc;
+import com.bank.account.rpc.AccountRef;
+import com.bank.account.rpc.AccountRefs;
+import com.bank.account.rpc.AdjustBalanceRequest;
+import com.bank.account.rpc.BalanceDeltas;
+import com.bank.account.rpc.Decimals;
+import com.bank.account.rpc.SetBalanceRequest;
+import com.bank.transaction.dto.TransferRequest;
+import com.bank.transaction.exception.BalanceConflictException;
+import io.grpc.Channel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link AccountClient} that sends the balance operations to account-service over
+ * gRPC, with amounts as binary decimals instead of JSON and query strings, and
+ * multiplexed over one HTTP/2 connection per instance. Transfers still go through
+ * the Feign client. Calls share the Feign path's circuit breaker and bulkhead; an
+ * overdraft comes back as {@link BalanceConflictException}.
+ */
+public class GrpcAccountClient implements AccountClient {
+    
+    private final Supplier<Channel> channels;
+    private final AccountClient httpAccountClient;
+    private final AccountClientResilience resilience;
+    private final long deadlineMillis;
+    
+    public GrpcAccountClient(Supplier<Channel> channels, AccountClient httpAccountClient,
+                             AccountClientResilience resilience, Duration deadline) {
+        this.channels = channels;
+        this.httpAccountClient = httpAccountClient;
+        this.resilience = resilience;
+        this.deadlineMillis = deadline.toMillis();
+    }
+    
+    @Override
+    public BigDecimal getBalance(String accountId) {
+        return call(() -> Decimals.fromProto(stub()
+                .getBalance(AccountRef.newBuilder().setAccountId(accountId).build())
+                .getBalance()));
+    }
+    
+    @Override
+    public void updateBalance(String accountId, BigDecimal balance) {
+        call(() -> stub().updateBalance(SetBalanceRequest.newBuilder()
+                .setAccountId(accountId)
+                .setBalance(Decimals.toProto(balance))
+                .build()));
+    }
+    
+    @Override
+    public BigDecimal adjustBalance(String accountId, BigDecimal amount) {
+        return call(() -> Decimals.fromProto(stub()
+                .adjustBalance(AdjustBalanceRequest.newBuilder()
+                        .setAccountId(accountId)
+                        .setAmount(Decimals.toProto(amount))
+                        .build())
+                .getBalance()));
+    }
+    
+    @Override
+    public Map<String, BigDecimal> getBalances(Collection<String> accountIds) {
+        return call(() -> Decimals.fromProto(stub()
+                .getBalances(AccountRefs.newBuilder().addAllAccountIds(accountIds).build())
+                .getBalancesMap()));
+    }
+    
+    @Override
+    public Map<String, BigDecimal> adjustBalances(Map<String, BigDecimal> deltas) {
+        return call(() -> Decimals.fromProto(stub()
+                .adjustBalances(BalanceDeltas.newBuilder().putAllDeltas(Decimals.toProto(deltas)).build())
+                .getBalancesMap()));
+    }
+    
+    @Override
+    public Map<String, BigDecimal> transfer(TransferRequest request) {
+        return httpAccountClient.transfer(request);
+    }
+    
+    private AccountBalancesGrpc.AccountBalancesBlockingStub stub() {
+        return AccountBalancesGrpc.newBlockingStub(channels.get())
+                .withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    private <T> T call(Supplier<T> call) {
+        try {
+            return resilience.call(call, GrpcAccountClient::isFailure);
+        } catch (StatusRuntimeException e) {
+            if (e.getStatus().getCode() == Status.Code.FAILED_PRECONDITION) {
+                throw new BalanceConflictException(e.getStatus().getDescription());
+            }
+            throw e;
+        }
+    }
+    
+    // Rejected requests are account-service working as intended; only transport and server faults open the breaker
+    private static boolean isFailure(RuntimeException e) {
+        if (!(e instanceof StatusRuntimeException statusException)) {
+            return true;
+        }
+        return switch (statusException.getStatus().getCode()) {
+            case FAILED_PRECONDITION, INVALID_ARGUMENT, NOT_FOUND -> false;
+            default -> true;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.client.AccountClient;
+import com.bank.transaction.client.AccountClientResilience;
+import com.bank.transaction.client.AccountRpcChannels;
+import com.bank.transaction.client.GrpcAccountClient;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Switches {@link AccountClient} to the gRPC channel when
+ * {@code transaction.account-client.protocol=grpc}; the Feign client remains for
+ * transfers.
+ */
+@Configuration
+@ConditionalOnProperty(name = "transaction.account-client.protocol", havingValue = "grpc")
+public class AccountRpcClientConfig {
+    
+    @Bean
+    public AccountRpcChannels accountRpcChannels(LoadBalancerClient loadBalancerClient,
+                                                 ObservationRegistry observationRegistry,
+                                                 @Value("${service.auth.token}") String serviceToken,
+                                                 @Value("${transaction.account-client.grpc.default-port:9082}") int defaultPort) {
+        return new AccountRpcChannels(loadBalancerClient, observationRegistry, serviceToken, defaultPort);
+    }
+    
+    @Bean
+    @Primary
+    public AccountClient grpcAccountClient(AccountRpcChannels accountRpcChannels,
+                                           @Qualifier("httpAccountClient") AccountClient httpAccountClient,
+                                           AccountClientResilience accountClientResilience,
+                                           @Value("${transaction.account-client.grpc.deadline:3s}") Duration deadline) {
+        return new GrpcAccountClient(accountRpcChannels::next, httpAccountClient, accountClientResilience, deadline);
+    }
+}
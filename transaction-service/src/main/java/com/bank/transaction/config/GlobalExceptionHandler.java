@@ -1,7 +1,10 @@
 package com.bank.transaction.config;
 
 import com.bank.transaction.exception.AccountServiceException;
+import com.bank.transaction.exception.DuplicateRequestException;
+import com.bank.transaction.exception.IdempotencyKeyReuseException;
 import com.bank.transaction.exception.InsufficientBalanceException;
+import com.bank.transaction.exception.LedgerJournalException;
 import com.bank.transaction.exception.SameAccountTransferException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -48,6 +52,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
     }
     
+    @ExceptionHandler(DuplicateRequestException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateRequest(DuplicateRequestException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyReuse(IdempotencyKeyReuseException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+    
+    @ExceptionHandler(LedgerJournalException.class)
+    public ResponseEntity<Map<String, String>> handleLedgerJournalException(LedgerJournalException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+    
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleRejectedExecution(RejectedExecutionException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Account is busy, please retry");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+    
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException ex) {
         Map<String, String> error = new HashMap<>();
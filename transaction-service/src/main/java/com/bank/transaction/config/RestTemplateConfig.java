@@ -1,16 +1,34 @@
 package com.bank.transaction.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Outbound HTTP shares one pooled keep-alive Apache HttpClient, the one Spring Cloud
+ * OpenFeign builds for {@code AccountClient} from {@code spring.cloud.openfeign.httpclient.*}.
+ * The RestTemplate is built on the same client, so both draw on the same pool and
+ * timeouts. Pool usage is published as {@code httpcomponents.httpclient.pool.*}.
+ */
 @Configuration
 public class RestTemplateConfig {
     
     @Bean
     @LoadBalanced
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient httpClient5) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient5));
+    }
+    
+    @Bean
+    public MeterBinder httpClientPoolMetrics(HttpClientConnectionManager hc5ConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(
+                (PoolingHttpClientConnectionManager) hc5ConnectionManager, "outbound");
     }
 }
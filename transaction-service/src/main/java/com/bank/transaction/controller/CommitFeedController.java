@@ -0,0 +1,27 @@
+package com.bank.transaction.controller;
+
+import com.bank.transaction.events.CommitFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service-to-service stream of committed transactions and the balances they left,
+ * read by each gateway. Like everything under {@code /internal}, it is refused to
+ * callers without the service token ({@code service.auth.protected-paths}).
+ */
+@RestController
+@RequestMapping("/internal/commits")
+@RequiredArgsConstructor
+public class CommitFeedController {
+    
+    private final CommitFeed commitFeed;
+    
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCommits() {
+        return commitFeed.subscribe();
+    }
+}
@@ -1,6 +1,11 @@
 package com.bank.transaction.controller;
 
 import com.bank.transaction.dto.*;
+import com.bank.transaction.entity.TransactionType;
+import com.bank.transaction.execution.AccountLaneExecutor;
+import com.bank.transaction.idempotency.IdempotencyService;
+import com.bank.transaction.service.BalanceSnapshotService;
+import com.bank.transaction.service.TransactionExportService;
 import com.bank.transaction.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -8,8 +13,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -17,23 +33,52 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class TransactionController {
     
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "amount", "type");
+    private static final int MAX_PAGE_SIZE = 100;
+    // Set by the gateway from the verified token
+    private static final String USER_ID_HEADER = "X-User-Id";
+    
     private final TransactionService transactionService;
+    private final AccountLaneExecutor accountLaneExecutor;
+    private final IdempotencyService idempotencyService;
+    private final TransactionExportService transactionExportService;
+    private final BalanceSnapshotService balanceSnapshotService;
     
     @PostMapping("/deposit")
-    public ResponseEntity<TransactionResponse> deposit(@Valid @RequestBody DepositRequest request) {
-        TransactionResponse response = transactionService.deposit(request);
+    public ResponseEntity<TransactionResponse> deposit(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = USER_ID_HEADER, required = false) String userId,
+            @Valid @RequestBody DepositRequest request) {
+        TransactionResponse response = idempotencyService.execute(userId, "deposit", idempotencyKey, request,
+                () -> accountLaneExecutor.execute(request.getAccountId(), () -> transactionService.deposit(request)));
         return ResponseEntity.ok(response);
     }
     
     @PostMapping("/withdraw")
-    public ResponseEntity<TransactionResponse> withdraw(@Valid @RequestBody WithdrawRequest request) {
-        TransactionResponse response = transactionService.withdraw(request);
+    public ResponseEntity<TransactionResponse> withdraw(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = USER_ID_HEADER, required = false) String userId,
+            @Valid @RequestBody WithdrawRequest request) {
+        TransactionResponse response = idempotencyService.execute(userId, "withdraw", idempotencyKey, request,
+                () -> accountLaneExecutor.execute(request.getAccountId(), () -> transactionService.withdraw(request)));
         return ResponseEntity.ok(response);
     }
     
     @PostMapping("/transfer")
-    public ResponseEntity<TransactionResponse> transfer(@Valid @RequestBody TransferRequest request) {
-        TransactionResponse response = transactionService.transfer(request);
+    public ResponseEntity<TransactionResponse> transfer(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = USER_ID_HEADER, required = false) String userId,
+            @Valid @RequestBody TransferRequest request) {
+        TransactionResponse response = idempotencyService.execute(userId, "transfer", idempotencyKey, request,
+                () -> accountLaneExecutor.execute(request.getFromAccountId(), request.getToAccountId(),
+                        () -> transactionService.transfer(request)));
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransactionResponse> batch(@Valid @RequestBody BatchTransactionRequest request) {
+        BatchTransactionResponse response = accountLaneExecutor.executeAll(
+                transactionService.getBatchAccountIds(request), () -> transactionService.processBatch(request));
         return ResponseEntity.ok(response);
     }
     
@@ -45,10 +90,90 @@ public class TransactionController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") String direction
     ) {
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new RuntimeException("Cannot sort by " + sortBy);
+        }
         Sort.Direction sortDirection = direction.equalsIgnoreCase("ASC") ? 
                 Sort.Direction.ASC : Sort.Direction.DESC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), Sort.by(sortDirection, sortBy));
         Page<TransactionResponse> transactions = transactionService.getTransactionHistory(accountId, pageable);
         return ResponseEntity.ok(transactions);
     }
+    
+    @GetMapping("/account/{accountId}/history")
+    public ResponseEntity<TransactionHistoryResponse> getTransactionHistoryPage(
+            @PathVariable String accountId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TransactionHistoryResponse history = transactionService.getTransactionHistory(accountId, after, pageSize);
+        return ResponseEntity.ok(history);
+    }
+    
+    @GetMapping("/account/{accountId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable String accountId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) TransactionType type
+    ) {
+        StreamingResponseBody body;
+        MediaType mediaType;
+        if (format.equalsIgnoreCase("csv")) {
+            body = out -> transactionExportService.exportCsv(accountId, from, to, type, out);
+            mediaType = new MediaType("text", "csv");
+        } else if (format.equalsIgnoreCase("ndjson")) {
+            body = out -> transactionExportService.exportNdjson(accountId, from, to, type, out);
+            mediaType = MediaType.APPLICATION_NDJSON;
+        } else {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+        
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportDisposition(accountId, format).toString())
+                .body(body);
+    }
+    
+    @GetMapping("/account/{accountId}/balance")
+    public ResponseEntity<BalanceAtResponse> getBalanceAt(
+            @PathVariable String accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        BalanceAtResponse balance = balanceSnapshotService.getBalanceAt(accountId, at);
+        return ResponseEntity.ok(balance);
+    }
+    
+    @GetMapping("/account/{accountId}/statement")
+    public ResponseEntity<StatementResponse> getStatement(
+            @PathVariable String accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        StatementResponse statement = balanceSnapshotService.getStatement(accountId, from, to);
+        return ResponseEntity.ok(statement);
+    }
+    
+    @GetMapping("/lanes")
+    public ResponseEntity<List<LaneStatusResponse>> getLaneStatus() {
+        List<LaneStatusResponse> lanes = IntStream.range(0, accountLaneExecutor.getLaneCount())
+                .mapToObj(lane -> new LaneStatusResponse(
+                        lane,
+                        accountLaneExecutor.getQueueDepth(lane),
+                        accountLaneExecutor.isBusy(lane)))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(lanes);
+    }
+    
+    /**
+     * Names the download after the account. The id comes from the path, so anything
+     * beyond letters, digits, {@code -} and {@code _} is replaced rather than let into
+     * the header.
+     */
+    private static ContentDisposition exportDisposition(String accountId, String format) {
+        String filename = "transactions-" + accountId.replaceAll("[^A-Za-z0-9_-]", "_") + "." + format.toLowerCase();
+        return ContentDisposition.attachment().filename(filename).build();
+    }
 }
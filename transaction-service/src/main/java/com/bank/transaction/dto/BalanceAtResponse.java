@@ -0,0 +1,17 @@
+package com.bank.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceAtResponse {
+    private String accountId;
+    private LocalDateTime at;
+    private BigDecimal balance;
+}
@@ -0,0 +1,16 @@
+package com.bank.transaction.dto;
+
+import com.bank.transaction.entity.TransactionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    private int index;
+    private TransactionStatus status;
+    private TransactionResponse transaction;
+    private String message;
+}
@@ -0,0 +1,26 @@
+package com.bank.transaction.dto;
+
+import com.bank.transaction.entity.TransactionType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class BatchTransactionItem {
+    @NotNull(message = "Transaction type is required")
+    private TransactionType type;
+    
+    @NotBlank(message = "Account ID is required")
+    private String accountId;
+    
+    private String toAccountId; // For transfers
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+    
+    private String description;
+}
@@ -0,0 +1,15 @@
+package com.bank.transaction.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchTransactionRequest {
+    @NotEmpty(message = "Batch must contain at least one item")
+    @Size(max = 10000, message = "Batch cannot contain more than 10000 items")
+    private List<@Valid BatchTransactionItem> items;
+}
@@ -0,0 +1,16 @@
+package com.bank.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionResponse {
+    private int completed;
+    private int failed;
+    private List<BatchItemResult> results;
+}
@@ -0,0 +1,14 @@
+package com.bank.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LaneStatusResponse {
+    private int lane;
+    private int queueDepth;
+    private boolean busy;
+}
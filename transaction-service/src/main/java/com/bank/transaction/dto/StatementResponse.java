@@ -0,0 +1,19 @@
+package com.bank.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementResponse {
+    private String accountId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+}
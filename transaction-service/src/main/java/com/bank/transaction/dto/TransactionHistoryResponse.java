@@ -0,0 +1,15 @@
+package com.bank.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionHistoryResponse {
+    private List<TransactionResponse> transactions;
+    private String nextCursor; // Null on the last page
+}
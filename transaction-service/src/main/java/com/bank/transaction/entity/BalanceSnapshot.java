@@ -0,0 +1,30 @@
+package com.bank.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "balance_snapshots")
+@CompoundIndex(name = "account_as_of", def = "{'accountId': 1, 'asOf': -1}", unique = true)
+public class BalanceSnapshot {
+    @Id
+    private String id;
+    
+    private String accountId;
+    
+    private LocalDateTime asOf; // Covers every transaction created at or before this instant
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal balance;
+}
@@ -0,0 +1,34 @@
+package com.bank.transaction.entity;
+
+import com.bank.transaction.dto.TransactionResponse;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+    @Id
+    private String id; // User, endpoint and client key, so keys only collide within one caller's endpoint
+    
+    private String userId;
+    
+    private String endpoint;
+    
+    private String key;
+    
+    private String requestHash; // SHA-256 of the request body; a retry must send the same one
+    
+    private TransactionResponse response; // Null while the original request is in flight
+    
+    private boolean failed; // The original request failed after it may have moved money
+    
+    private LocalDateTime leaseExpiresAt; // Until then the reservation belongs to the instance running it
+    
+    // Expired by a TTL index that IdempotencyService creates from transaction.idempotency.ttl
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
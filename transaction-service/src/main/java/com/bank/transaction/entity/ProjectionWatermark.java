@@ -0,0 +1,27 @@
+package com.bank.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far one ledger journal has been projected, published by the instance that
+ * writes it. Balance snapshots are never folded past a transaction that a journal
+ * still holds unprojected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "projection_watermarks")
+public class ProjectionWatermark {
+    @Id
+    private String journalId;
+    
+    private LocalDateTime oldestUnprojected; // createdAt of the oldest record not yet projected; null when caught up
+    
+    private LocalDateTime updatedAt; // Nothing created after this is known to be projected
+}
@@ -0,0 +1,20 @@
+package com.bank.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "snapshot_watermarks")
+public class SnapshotWatermark {
+    @Id
+    private String id;
+    
+    private LocalDateTime cutoff;
+}
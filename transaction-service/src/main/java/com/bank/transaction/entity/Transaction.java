@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -13,6 +16,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "transactions")
+@CompoundIndexes({
+        @CompoundIndex(name = "account_history", def = "{'accountId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "to_account_history", def = "{'toAccountId': 1, 'createdAt': -1, '_id': -1}")
+})
 public class Transaction {
     @Id
     private String id;
@@ -31,5 +38,6 @@ public class Transaction {
     
     private TransactionStatus status = TransactionStatus.COMPLETED;
     
+    @Indexed
     private LocalDateTime createdAt = LocalDateTime.now();
 }
@@ -0,0 +1,147 @@
+package com.bank.transaction.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-sent event feed of every commit made by this instance, read by the API
+ * gateways that fan the events out to browsers. Commits are encoded once on the
+ * publishing thread and queued; a single dispatcher thread writes them to the
+ * subscribed gateways, so a slow gateway never holds up a lane. If the queue
+ * overflows the commit is dropped and subscribers are sent a {@code resync} event
+ * instead, telling them to fall back to fetching current state.
+ */
+@Slf4j
+@Component
+public class CommitFeed {
+    
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<String> pending;
+    private final long heartbeatMillis;
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final Counter droppedCommits;
+    
+    // Set by publishers when the queue was full; the dispatcher sends resync before the next commit
+    private volatile boolean overflowed;
+    private volatile boolean running;
+    private Thread dispatcher;
+    
+    public CommitFeed(ObjectMapper objectMapper,
+                      @Value("${transaction.events.queue-capacity:10000}") int queueCapacity,
+                      @Value("${transaction.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+                      MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        this.droppedCommits = Counter.builder("transaction.events.dropped")
+                .description("Commits left out of the event feed because its queue was full")
+                .register(meterRegistry);
+        Gauge.builder("transaction.events.subscribers", subscribers, List::size)
+                .description("Gateways reading the commit event feed")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "commit-feed");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        dispatcher.interrupt();
+        subscribers.forEach(SseEmitter::complete);
+    }
+    
+    public SseEmitter subscribe() {
+        // No timeout: the heartbeat keeps idle connections alive and exposes dead ones
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        try {
+            // Lets the gateway know the feed is live before the first commit or heartbeat
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+    
+    @EventListener
+    public void onCommit(TransactionCommittedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not encode commit for the event feed", e);
+            overflowed = true;
+            return;
+        }
+        if (!pending.offer(data)) {
+            droppedCommits.increment();
+            overflowed = true;
+        }
+    }
+    
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                String data = pending.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (overflowed) {
+                    overflowed = false;
+                    send(SseEmitter.event().name("resync").data(""));
+                }
+                if (data == null) {
+                    send(SseEmitter.event().comment("keepalive"));
+                } else {
+                    send(SseEmitter.event().name("commit").data(data));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    private void send(SseEmitter.SseEventBuilder event) {
+        // Encoded once and written as-is to every gateway; a builder cannot be reused across emitters
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = event.build();
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(frame);
+            } catch (IOException | IllegalStateException e) {
+                // The container completes the emitter once it notices the broken connection
+                subscribers.remove(emitter);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.bank.transaction.events;
+
+import com.bank.transaction.dto.TransactionResponse;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published once the transactions are durable in the ledger journal, together with
+ * the balances account-service reported for every account they moved.
+ */
+public record TransactionCommittedEvent(List<TransactionResponse> transactions, Map<String, BigDecimal> balances) {
+}
@@ -0,0 +1,11 @@
+package com.bank.transaction.exception;
+
+/**
+ * A call to account-service was refused locally by the circuit breaker or the
+ * bulkhead, so it never reached account-service.
+ */
+public class AccountServiceUnavailableException extends AccountServiceException {
+    public AccountServiceUnavailableException(String message) {
+        super(message);
+    }
+}
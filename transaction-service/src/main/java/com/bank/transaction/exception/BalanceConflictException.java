@@ -0,0 +1,11 @@
+package com.bank.transaction.exception;
+
+/**
+ * account-service refused a balance change because it would overdraw the account;
+ * the binary client's counterpart of a {@code 409 Conflict} from the REST API.
+ */
+public class BalanceConflictException extends RuntimeException {
+    public BalanceConflictException(String message) {
+        super(message);
+    }
+}
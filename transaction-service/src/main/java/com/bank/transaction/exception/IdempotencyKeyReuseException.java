@@ -0,0 +1,10 @@
+package com.bank.transaction.exception;
+
+/**
+ * An {@code Idempotency-Key} was sent again with a different request body.
+ */
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
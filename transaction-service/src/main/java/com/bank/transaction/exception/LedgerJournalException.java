@@ -0,0 +1,11 @@
+package com.bank.transaction.exception;
+
+public class LedgerJournalException extends RuntimeException {
+    public LedgerJournalException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+    public LedgerJournalException(String message) {
+        super(message);
+    }
+}
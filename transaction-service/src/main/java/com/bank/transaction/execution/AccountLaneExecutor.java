@@ -0,0 +1,137 @@
+package com.bank.transaction.execution;
+
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Routes account operations onto a fixed set of single-threaded lanes chosen by
+ * hashing the account id. Operations on the same account are applied one at a
+ * time in submission order while different lanes run in parallel.
+ */
+@Component
+public class AccountLaneExecutor implements DisposableBean {
+    
+    private static final ThreadLocal<Integer> CURRENT_LANE = new ThreadLocal<>();
+    // Carries the caller's trace context onto the lane so account-service calls join the request's trace
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+    
+    private final ThreadPoolExecutor[] lanes;
+    
+    public AccountLaneExecutor(@Value("${transaction.lanes.count:0}") int laneCount,
+                               @Value("${transaction.lanes.queue-capacity:10000}") int queueCapacity,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // Lanes spend most of their time blocked on account-service calls, so the
+        // default oversubscribes the cores rather than matching them one to one.
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors() * 4;
+        this.lanes = new ThreadPoolExecutor[count];
+        for (int i = 0; i < count; i++) {
+            final int lane = i;
+            ThreadFactory threadFactory = virtualThreads
+                    ? new VirtualThreadTaskExecutor("account-lane-" + lane + "-").getVirtualThreadFactory()
+                    : runnable -> {
+                        Thread thread = new Thread(runnable, "account-lane-" + lane);
+                        thread.setDaemon(true);
+                        return thread;
+                    };
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    runnable -> threadFactory.newThread(() -> {
+                        CURRENT_LANE.set(lane);
+                        runnable.run();
+                    }));
+        }
+    }
+    
+    public <T> T execute(String accountId, Supplier<T> operation) {
+        return runOn(laneOf(accountId), operation);
+    }
+    
+    /**
+     * Runs an operation that touches two accounts while holding both of their lanes.
+     */
+    public <T> T execute(String firstAccountId, String secondAccountId, Supplier<T> operation) {
+        return executeAll(List.of(firstAccountId, secondAccountId), operation);
+    }
+    
+    /**
+     * Runs an operation while holding the lanes of every given account. Lanes are
+     * always entered lowest index first, so operations over overlapping account
+     * sets cannot wait on each other in a cycle.
+     */
+    public <T> T executeAll(Collection<String> accountIds, Supplier<T> operation) {
+        int[] laneIndexes = accountIds.stream()
+                .mapToInt(this::laneOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        return runOnAll(laneIndexes, 0, operation);
+    }
+    
+    public int laneOf(String accountId) {
+        return Math.floorMod(accountId.hashCode(), lanes.length);
+    }
+    
+    public int getLaneCount() {
+        return lanes.length;
+    }
+    
+    public int getQueueDepth(int lane) {
+        return lanes[lane].getQueue().size();
+    }
+    
+    public boolean isBusy(int lane) {
+        return lanes[lane].getActiveCount() > 0;
+    }
+    
+    private <T> T runOnAll(int[] laneIndexes, int position, Supplier<T> operation) {
+        if (position == laneIndexes.length) {
+            return operation.get();
+        }
+        return runOn(laneIndexes[position], () -> runOnAll(laneIndexes, position + 1, operation));
+    }
+    
+    private <T> T runOn(int lane, Supplier<T> operation) {
+        Integer current = CURRENT_LANE.get();
+        if (current != null && current == lane) {
+            return operation.get();
+        }
+        
+        Future<T> future = lanes[lane].submit(CONTEXT_SNAPSHOTS.captureAll().wrap(operation::get));
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new IllegalStateException("Interrupted while waiting for account lane " + lane, e);
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.bank.transaction.idempotency;
+
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.IdempotencyRecord;
+import com.bank.transaction.exception.AccountServiceUnavailableException;
+import com.bank.transaction.exception.DuplicateRequestException;
+import com.bank.transaction.exception.IdempotencyKeyReuseException;
+import com.bank.transaction.exception.InsufficientBalanceException;
+import com.bank.transaction.exception.SameAccountTransferException;
+import com.bank.transaction.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a money-moving operation at most once per {@code Idempotency-Key}. Keys are
+ * scoped to the caller and the endpoint, and a retry must carry the same request
+ * body as the original. Completed responses are kept in a bounded in-memory cache
+ * with a TTL, backed by the {@code idempotency_keys} collection so keys survive
+ * restarts and are shared between instances. Duplicates arriving while the original
+ * is still running on this instance wait for its result instead of executing again.
+ * <p>
+ * A key is only released for reuse when the operation failed before any balance
+ * was touched. Any other failure is remembered, because money may have moved. The
+ * instance running a request keeps renewing its lease; a reservation whose lease
+ * ran out belongs to an instance that died mid-request, so its outcome is unknown.
+ * It is never run again: retries are refused until the client has checked the
+ * account, and a new key is needed to try once more.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+    
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+    private static final int MAX_COMPLETE_ATTEMPTS = 3;
+    private static final Set<Status.Code> REFUSED_RPC_CODES = Set.of(Status.Code.INVALID_ARGUMENT,
+            Status.Code.NOT_FOUND, Status.Code.FAILED_PRECONDITION, Status.Code.UNAUTHENTICATED,
+            Status.Code.PERMISSION_DENIED);
+    
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final long ttlNanos;
+    private final Duration lease;
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Queue<CacheEntry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+    
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              MongoTemplate mongoTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${transaction.idempotency.max-entries:100000}") int maxEntries,
+                              @Value("${transaction.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${transaction.idempotency.lease:30s}") Duration lease) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.ttlNanos = ttl.toNanos();
+        this.lease = lease;
+    }
+    
+    /**
+     * Expires stored keys after {@code transaction.idempotency.ttl}. An existing index
+     * with another expiry, such as one left by an earlier release, is changed in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createTtlIndex() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(IdempotencyRecord.class);
+            Optional<IndexInfo> existing = indexOps.getIndexInfo().stream()
+                    .filter(index -> index.isIndexForFields(List.of("createdAt")))
+                    .findFirst();
+            if (existing.isEmpty()) {
+                indexOps.ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).expire(ttl));
+            } else if (!existing.get().getExpireAfter().equals(Optional.of(ttl))) {
+                String collection = mongoTemplate.getCollectionName(IdempotencyRecord.class);
+                mongoTemplate.getDb().runCommand(new Document("collMod", collection)
+                        .append("index", new Document("name", existing.get().getName())
+                                .append("expireAfterSeconds", ttl.toSeconds())));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to create the idempotency key TTL index; stored keys will not expire until it exists", e);
+        }
+    }
+    
+    public TransactionResponse execute(String userId, String endpoint, String key, Object request,
+                                       Supplier<TransactionResponse> operation) {
+        if (key == null || key.isBlank()) {
+            return operation.get();
+        }
+        
+        String id = (userId != null ? userId : "") + ":" + endpoint + ":" + key;
+        String requestHash = hash(request);
+        CacheEntry entry = new CacheEntry(id, requestHash, System.nanoTime() + ttlNanos);
+        while (true) {
+            CacheEntry existing = entries.putIfAbsent(id, entry);
+            if (existing == null) {
+                break;
+            }
+            if (!existing.isExpired()) {
+                checkSameRequest(existing.requestHash, requestHash);
+                return await(existing);
+            }
+            entries.remove(id, existing);
+        }
+        insertionOrder.add(entry);
+        evict();
+        
+        try {
+            TransactionResponse response = executeOnce(id, userId, endpoint, key, requestHash, operation);
+            entry.future.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            if (isRejectedBeforeBalanceChange(e)) {
+                // Nothing moved, so the client can retry with the same key
+                entries.remove(id, entry);
+                entry.future.completeExceptionally(e);
+            } else {
+                entry.future.completeExceptionally(failedEarlier());
+            }
+            throw e;
+        }
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Extends the lease of every reservation this instance is still running, so a
+     * slow request (lane queueing, the account call, the journal fsync) is never
+     * mistaken for an abandoned one.
+     */
+    @Scheduled(fixedDelayString = "${transaction.idempotency.lease-renewal:PT10S}")
+    public void renewLeases() {
+        if (held.isEmpty()) {
+            return;
+        }
+        Query inFlight = new Query(Criteria.where("_id").in(List.copyOf(held))
+                .and("response").is(null)
+                .and("failed").is(false));
+        try {
+            mongoTemplate.updateMulti(inFlight, new Update().set("leaseExpiresAt", LocalDateTime.now().plus(lease)),
+                    IdempotencyRecord.class);
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew {} idempotency key leases", held.size(), e);
+        }
+    }
+    
+    private TransactionResponse executeOnce(String id, String userId, String endpoint, String key, String requestHash,
+                                            Supplier<TransactionResponse> operation) {
+        IdempotencyRecord reservation = reserve(id, userId, endpoint, key, requestHash);
+        if (reservation.getResponse() != null) {
+            return reservation.getResponse();
+        }
+        
+        held.add(id);
+        try {
+            TransactionResponse response;
+            try {
+                response = operation.get();
+            } catch (RuntimeException e) {
+                if (isRejectedBeforeBalanceChange(e)) {
+                    idempotencyRecordRepository.deleteById(id);
+                } else {
+                    reservation.setFailed(true);
+                    reservation.setLeaseExpiresAt(null);
+                    saveQuietly(reservation, e);
+                }
+                throw e;
+            }
+            reservation.setResponse(response);
+            reservation.setLeaseExpiresAt(null);
+            complete(reservation);
+            return response;
+        } finally {
+            held.remove(id);
+        }
+    }
+    
+    /**
+     * Stores the response of a request that moved money. The lease is still being
+     * renewed while this retries. If every attempt fails the money has still moved, so
+     * the caller gets its response and the reservation is left to expire, after which
+     * retries are refused as outcome unknown rather than run again.
+     */
+    private void complete(IdempotencyRecord reservation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                idempotencyRecordRepository.save(reservation);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_COMPLETE_ATTEMPTS) {
+                    log.error("Failed to store the response for idempotency key {}; retries will be refused",
+                            reservation.getId(), e);
+                    return;
+                }
+                log.warn("Failed to store the response for idempotency key {} (attempt {}); retrying",
+                        reservation.getId(), attempt, e);
+            }
+        }
+    }
+    
+    /**
+     * Claims the key for this request, or returns the stored record when the original
+     * already completed.
+     */
+    private IdempotencyRecord reserve(String id, String userId, String endpoint, String key, String requestHash) {
+        IdempotencyRecord reservation = new IdempotencyRecord();
+        reservation.setId(id);
+        reservation.setUserId(userId);
+        reservation.setEndpoint(endpoint);
+        reservation.setKey(key);
+        reservation.setRequestHash(requestHash);
+        
+        for (int attempt = 1; attempt <= MAX_RESERVE_ATTEMPTS; attempt++) {
+            reservation.setLeaseExpiresAt(LocalDateTime.now().plus(lease));
+            try {
+                return idempotencyRecordRepository.insert(reservation);
+            } catch (DuplicateKeyException e) {
+                // Held by another request; decided below
+            }
+            
+            IdempotencyRecord existing = idempotencyRecordRepository.findById(id).orElse(null);
+            if (existing == null) {
+                // Released or expired in between, so try to claim it again
+                continue;
+            }
+            checkSameRequest(existing.getRequestHash(), requestHash);
+            if (existing.getResponse() != null) {
+                return existing;
+            }
+            if (existing.isFailed()) {
+                throw failedEarlier();
+            }
+            if (existing.getLeaseExpiresAt() != null && existing.getLeaseExpiresAt().isAfter(LocalDateTime.now())) {
+                throw new DuplicateRequestException("A request with this idempotency key is already in progress");
+            }
+            
+            // The instance holding the reservation died, maybe after moving money; unless it was renewed
+            // in between, record that the outcome is unknown instead of running the request again
+            Query abandoned = new Query(Criteria.where("_id").is(id)
+                    .and("response").is(null)
+                    .and("failed").is(false)
+                    .and("leaseExpiresAt").is(existing.getLeaseExpiresAt()));
+            Update unknown = new Update().set("failed", true).unset("leaseExpiresAt");
+            if (mongoTemplate.updateFirst(abandoned, unknown, IdempotencyRecord.class).getModifiedCount() > 0) {
+                log.warn("Idempotency key {} was abandoned in flight; refusing retries", id);
+                throw failedEarlier();
+            }
+        }
+        throw new DuplicateRequestException("A request with this idempotency key is already in progress");
+    }
+    
+    private void saveQuietly(IdempotencyRecord reservation, RuntimeException failure) {
+        try {
+            idempotencyRecordRepository.save(reservation);
+        } catch (RuntimeException e) {
+            // The reservation stays in flight until its lease ends, then retries are refused all the same
+            failure.addSuppressed(e);
+        }
+    }
+    
+    /**
+     * Failures raised before account-service changed any balance: validation, an
+     * overdraft or unknown account it refused, or a call that was never sent. Timeouts,
+     * server errors and journal failures are not among them, since the balance may
+     * already have changed.
+     */
+    private static boolean isRejectedBeforeBalanceChange(Throwable e) {
+        if (e instanceof InsufficientBalanceException || e instanceof SameAccountTransferException
+                || e instanceof RejectedExecutionException || e instanceof DuplicateRequestException
+                || e instanceof IdempotencyKeyReuseException) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AccountServiceUnavailableException) {
+                return true;
+            }
+            if (cause instanceof FeignException feignException) {
+                return feignException.status() >= 400 && feignException.status() < 500
+                        && feignException.status() != 408;
+            }
+            if (cause instanceof StatusRuntimeException rpcException) {
+                return REFUSED_RPC_CODES.contains(rpcException.getStatus().getCode());
+            }
+        }
+        return false;
+    }
+    
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        // Records written before hashes were stored have none to compare
+        if (storedHash != null && !storedHash.equals(requestHash)) {
+            throw new IdempotencyKeyReuseException("This idempotency key was already used with a different request");
+        }
+    }
+    
+    private static DuplicateRequestException failedEarlier() {
+        return new DuplicateRequestException("A request with this idempotency key failed or stopped after it may "
+                + "have moved funds; check the account before retrying with a new key");
+    }
+    
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash request", e);
+        }
+    }
+    
+    private TransactionResponse await(CacheEntry entry) {
+        try {
+            return entry.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    private void evict() {
+        CacheEntry oldest;
+        while ((oldest = insertionOrder.peek()) != null
+                && (oldest.isExpired() || entries.size() > maxEntries)
+                && oldest.future.isDone()) {
+            insertionOrder.poll();
+            entries.remove(oldest.key, oldest);
+        }
+    }
+    
+    private static class CacheEntry {
+        private final String key;
+        private final String requestHash;
+        private final long expiresAt;
+        private final CompletableFuture<TransactionResponse> future = new CompletableFuture<>();
+        
+        CacheEntry(String key, String requestHash, long expiresAt) {
+            this.key = key;
+            this.requestHash = requestHash;
+            this.expiresAt = expiresAt;
+        }
+        
+        boolean isExpired() {
+            return future.isDone() && System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.bank.transaction.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads journal records forward from a sequence, following the writer into each
+ * new segment. Used by the projector to catch up on records it never received in
+ * memory, either because its queue was full or because they were written before
+ * a restart. Only records the journal reports as durable are returned.
+ */
+final class LedgerCursor {
+    
+    private final LedgerJournal journal;
+    private MappedByteBuffer segment;
+    private int position;
+    private long nextSequence;
+    
+    LedgerCursor(LedgerJournal journal, long fromSequence) throws IOException {
+        this.journal = journal;
+        this.nextSequence = fromSequence;
+        
+        // The segment holding fromSequence is the last one that starts at or before it. If
+        // that one is gone (deleted past a checkpoint that was never written), the oldest left
+        List<Path> segments = journal.listSegments();
+        Path start = segments.isEmpty() ? null : segments.get(0);
+        for (Path path : segments) {
+            if (LedgerJournal.firstSequence(path) > fromSequence) {
+                break;
+            }
+            start = path;
+        }
+        if (start != null) {
+            segment = map(start);
+        }
+    }
+    
+    long getNextSequence() {
+        return nextSequence;
+    }
+    
+    /** Returns up to {@code max} records after the last one read, none past {@code upTo}. */
+    List<LedgerEntry> next(long upTo, int max) throws IOException {
+        List<LedgerEntry> entries = new ArrayList<>(Math.min(max, 64));
+        while (entries.size() < max && nextSequence <= upTo) {
+            LedgerEntry entry = segment != null ? LedgerRecordCodec.decode(segment, position) : null;
+            if (entry == null) {
+                // The rest of this segment is unwritten, so the record is at the start of the next one
+                Path next = journal.segmentPath(nextSequence);
+                if (!Files.exists(next)) {
+                    break;
+                }
+                segment = map(next);
+                position = 0;
+                continue;
+            }
+            if (entry.getSequence() > upTo) {
+                break;
+            }
+            position += entry.getLength();
+            if (entry.getSequence() >= nextSequence) {
+                entries.add(entry);
+                nextSequence = entry.getSequence() + 1;
+            }
+        }
+        return entries;
+    }
+    
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.transaction.journal;
+
+import com.bank.transaction.entity.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+class LedgerEntry {
+    private final long sequence;
+    private final int length;
+    private final Transaction transaction;
+}
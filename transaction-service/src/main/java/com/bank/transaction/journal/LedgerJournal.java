@@ -0,0 +1,290 @@
+package com.bank.transaction.journal;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.exception.LedgerJournalException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append-only ledger of committed money movements, stored in fixed-size
+ * memory-mapped segment files named after the sequence of their first record. A
+ * single writer thread drains every append that is waiting, writes them to the
+ * current segment and forces the segment once for the whole group before
+ * releasing the callers. Segments whose records have all been projected are
+ * deleted, apart from the most recent {@code transaction.journal.retained-segments}.
+ */
+@Slf4j
+@Component
+public class LedgerJournal implements DisposableBean {
+    
+    private static final String SEGMENT_PREFIX = "ledger-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxBatchSize;
+    private final int retainedSegments;
+    private final LedgerProjector projector;
+    private final BlockingQueue<PendingAppend> pending = new LinkedBlockingQueue<>();
+    // Held while enqueueing and while stopping, so no append can land after the writer's last drain
+    private final Object appendLock = new Object();
+    
+    // Owned by the writer thread once the journal is open
+    private MappedByteBuffer segment;
+    private volatile long nextSequence = 1;
+    private volatile long durableSequence;
+    
+    private volatile boolean running;
+    private Thread writer;
+    
+    public LedgerJournal(LedgerProjector projector,
+                         @Value("${transaction.journal.dir:data/journal}") String directory,
+                         @Value("${transaction.journal.segment-size:67108864}") int segmentSize,
+                         @Value("${transaction.journal.max-batch:512}") int maxBatchSize,
+                         @Value("${transaction.journal.retained-segments:2}") int retainedSegments) {
+        this.projector = projector;
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        this.maxBatchSize = maxBatchSize;
+        this.retainedSegments = retainedSegments;
+    }
+    
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        projector.loadCheckpoint();
+        
+        // Only the last segment can hold a torn write; the projector reads back anything
+        // after its checkpoint from the files itself
+        List<Path> segments = listSegments();
+        if (segments.isEmpty()) {
+            roll();
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            nextSequence = firstSequence(last);
+            segment = map(last, false);
+            recover(segment);
+        }
+        durableSequence = nextSequence - 1;
+        deleteProjectedSegments();
+        
+        running = true;
+        writer = new Thread(this::writeLoop, "ledger-writer");
+        writer.setDaemon(true);
+        writer.start();
+        projector.start(this);
+    }
+    
+    /**
+     * Appends the transactions and returns once they are durable on disk. Concurrent
+     * callers share a single force of the segment.
+     */
+    public void append(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        PendingAppend append = new PendingAppend(transactions);
+        projector.expect(transactions);
+        synchronized (appendLock) {
+            if (!running) {
+                projector.release(transactions);
+                throw new LedgerJournalException("Ledger journal is not accepting writes");
+            }
+            pending.add(append);
+        }
+        try {
+            append.future.join();
+        } catch (CompletionException e) {
+            projector.release(transactions);
+            throw new LedgerJournalException("Failed to append to ledger journal", e.getCause());
+        }
+    }
+    
+    public long getLastSequence() {
+        return nextSequence - 1;
+    }
+    
+    /** Sequence of the last record forced to disk; the projector never reads past it. */
+    long getDurableSequence() {
+        return durableSequence;
+    }
+    
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !pending.isEmpty()) {
+                PendingAppend first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, maxBatchSize - 1);
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // However the writer ends, nobody may be left waiting on an append it will never write
+            synchronized (appendLock) {
+                running = false;
+            }
+            LedgerJournalException stopped = new LedgerJournalException("Ledger journal stopped before the write");
+            batch.forEach(append -> append.future.completeExceptionally(stopped));
+            List<PendingAppend> leftover = new ArrayList<>();
+            pending.drainTo(leftover);
+            leftover.forEach(append -> append.future.completeExceptionally(stopped));
+        }
+    }
+    
+    private void commit(List<PendingAppend> batch) {
+        List<LedgerEntry> written = new ArrayList<>();
+        try {
+            for (PendingAppend append : batch) {
+                for (Transaction transaction : append.transactions) {
+                    written.add(write(transaction));
+                }
+            }
+            segment.force();
+        } catch (RuntimeException | IOException e) {
+            batch.forEach(append -> append.future.completeExceptionally(e));
+            return;
+        }
+        durableSequence = nextSequence - 1;
+        batch.forEach(append -> append.future.complete(null));
+        projector.submit(written);
+    }
+    
+    private LedgerEntry write(Transaction transaction) throws IOException {
+        long sequence = nextSequence;
+        ByteBuffer record = LedgerRecordCodec.encode(sequence, transaction);
+        if (record.remaining() > segment.remaining()) {
+            segment.force();
+            roll();
+        }
+        if (record.remaining() > segment.remaining()) {
+            throw new LedgerJournalException("Journal record of " + record.remaining()
+                    + " bytes does not fit in a segment");
+        }
+        int length = record.remaining();
+        segment.put(record);
+        nextSequence++;
+        return new LedgerEntry(sequence, length, transaction);
+    }
+    
+    private void recover(MappedByteBuffer buffer) {
+        int position = 0;
+        LedgerEntry entry;
+        while ((entry = LedgerRecordCodec.decode(buffer, position)) != null) {
+            nextSequence = entry.getSequence() + 1;
+            position += entry.getLength();
+        }
+        
+        // Anything past the last valid record is unwritten space or a torn write;
+        // clear it so a later scan cannot mistake leftovers for a record.
+        if (buffer.limit() - position >= 4 && buffer.getInt(position) != 0) {
+            for (int i = position; i < buffer.limit(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        buffer.position(position);
+    }
+    
+    private void roll() throws IOException {
+        segment = map(segmentPath(nextSequence), true);
+        deleteProjectedSegments();
+    }
+    
+    /**
+     * Deletes segments whose every record is at or below the projection checkpoint,
+     * keeping the newest {@code retainedSegments} of them. A segment is fully
+     * projected once the one after it starts no later than the record after the
+     * checkpoint; the segment being written never is.
+     */
+    private void deleteProjectedSegments() {
+        long projected = projector.getProjectedSequence();
+        try {
+            List<Path> segments = listSegments();
+            int projectedSegments = 0;
+            while (projectedSegments < segments.size() - 1
+                    && firstSequence(segments.get(projectedSegments + 1)) <= projected + 1) {
+                projectedSegments++;
+            }
+            for (Path path : segments.subList(0, Math.max(0, projectedSegments - retainedSegments))) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            // Nothing depends on the old segments being gone; the next roll tries again
+            log.warn("Failed to delete projected journal segments", e);
+        }
+    }
+    
+    Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+    
+    static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+    
+    private MappedByteBuffer map(Path path, boolean create) throws IOException {
+        StandardOpenOption[] options = create
+                ? new StandardOpenOption[] {StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, channel.size()));
+        }
+    }
+    
+    List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+    
+    @Override
+    public void destroy() throws InterruptedException {
+        synchronized (appendLock) {
+            running = false;
+        }
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+    
+    private static class PendingAppend {
+        private final List<Transaction> transactions;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        
+        PendingAppend(List<Transaction> transactions) {
+            this.transactions = transactions;
+        }
+    }
+}
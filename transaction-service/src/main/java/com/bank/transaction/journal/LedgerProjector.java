@@ -0,0 +1,270 @@
+package com.bank.transaction.journal;
+
+import com.bank.transaction.entity.ProjectionWatermark;
+import com.bank.transaction.entity.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projects committed journal records into the Mongo {@code transactions} collection
+ * in the background. Records are upserted by id, so replaying records that were
+ * already projected before a crash is harmless. The sequence of the last projected
+ * record is kept in a checkpoint file next to the segments.
+ * <p>
+ * The writer hands over each committed group through a bounded queue. Records that
+ * do not fit while Mongo is slow or down are dropped from memory, and the projector
+ * reads them back from the segment files once it gets to them, as it does for
+ * everything after the checkpoint at startup.
+ * <p>
+ * Every second the projector publishes a {@link ProjectionWatermark} for its journal
+ * with the creation time of the oldest record appended but not yet projected, so
+ * balance snapshots are not folded past a transaction that has yet to reach Mongo.
+ */
+@Slf4j
+@Component
+public class LedgerProjector implements DisposableBean {
+    
+    private static final long RETRY_DELAY_MS = 1000;
+    private static final long PUBLISH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private final MongoTemplate mongoTemplate;
+    private final Path checkpointFile;
+    private final Path journalIdFile;
+    private final int maxBatchSize;
+    private final BlockingQueue<LedgerEntry> queue;
+    // createdAt of every record appended since startup and not yet projected, counted
+    // so records created in the same instant are kept apart
+    private final ConcurrentSkipListMap<LocalDateTime, Integer> unprojected = new ConcurrentSkipListMap<>();
+    
+    private volatile boolean running;
+    private volatile long projectedSequence;
+    private volatile LedgerJournal journal;
+    private Thread worker;
+    private String journalId;
+    // Records before this were written before startup and are not in unprojected
+    private long recoveredSequence;
+    // Owned by the worker; kept between reads so catching up does not rescan a segment
+    private LedgerCursor cursor;
+    private long lastPublish;
+    
+    public LedgerProjector(MongoTemplate mongoTemplate,
+                           @Value("${transaction.journal.dir:data/journal}") String directory,
+                           @Value("${transaction.journal.max-batch:512}") int maxBatchSize,
+                           @Value("${transaction.journal.projector-queue-capacity:65536}") int queueCapacity) {
+        this.mongoTemplate = mongoTemplate;
+        this.checkpointFile = Paths.get(directory, "checkpoint");
+        this.journalIdFile = Paths.get(directory, "journal-id");
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+    
+    long loadCheckpoint() {
+        try {
+            if (Files.exists(checkpointFile)) {
+                projectedSequence = ByteBuffer.wrap(Files.readAllBytes(checkpointFile)).getLong();
+            }
+            // Names this journal's watermark; it stays with the directory across restarts
+            if (!Files.exists(journalIdFile)) {
+                Files.writeString(journalIdFile, UUID.randomUUID().toString());
+            }
+            journalId = Files.readString(journalIdFile).trim();
+            return projectedSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read journal checkpoint", e);
+        }
+    }
+    
+    synchronized void start(LedgerJournal journal) {
+        if (running) {
+            return;
+        }
+        this.journal = journal;
+        recoveredSequence = journal.getDurableSequence();
+        running = true;
+        worker = new Thread(this::projectLoop, "ledger-projector");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    void submit(List<LedgerEntry> entries) {
+        // Never blocks the writer; whatever is dropped is read back from the journal
+        for (LedgerEntry entry : entries) {
+            queue.offer(entry);
+        }
+    }
+    
+    /** Called before the transactions are appended, so the watermark holds back from them. */
+    void expect(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            unprojected.merge(transaction.getCreatedAt(), 1, Integer::sum);
+        }
+    }
+    
+    /** Called once the transactions are projected, or when their append failed. */
+    void release(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            unprojected.computeIfPresent(transaction.getCreatedAt(), (createdAt, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+    
+    public long getProjectedSequence() {
+        return projectedSequence;
+    }
+    
+    /** Durable journal records not yet projected. */
+    public long getBacklog() {
+        LedgerJournal source = journal;
+        return source == null ? 0 : Math.max(0, source.getDurableSequence() - projectedSequence);
+    }
+    
+    private void projectLoop() {
+        List<LedgerEntry> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                LedgerEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                }
+                
+                // Queued records are used while they carry straight on from the checkpoint;
+                // after a gap the journal is read instead
+                long expected = projectedSequence + 1;
+                batch.removeIf(entry -> entry.getSequence() < expected);
+                int contiguous = 0;
+                while (contiguous < batch.size() && batch.get(contiguous).getSequence() == expected + contiguous) {
+                    contiguous++;
+                }
+                List<LedgerEntry> records;
+                if (contiguous > 0) {
+                    records = batch.subList(0, contiguous);
+                    cursor = null;
+                } else {
+                    records = readJournal(expected);
+                }
+                
+                if (!records.isEmpty()) {
+                    projectWithRetry(records);
+                    writeCheckpoint(records.get(records.size() - 1).getSequence());
+                    release(records.stream().map(LedgerEntry::getTransaction).toList());
+                }
+                batch.clear();
+                publishWatermark();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    private List<LedgerEntry> readJournal(long fromSequence) throws InterruptedException {
+        LedgerJournal source = journal;
+        if (source == null || source.getDurableSequence() < fromSequence) {
+            return List.of();
+        }
+        try {
+            if (cursor == null || cursor.getNextSequence() != fromSequence) {
+                cursor = new LedgerCursor(source, fromSequence);
+            }
+            return cursor.next(source.getDurableSequence(), maxBatchSize);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read journal records from {}, retrying", fromSequence, e);
+            cursor = null;
+            Thread.sleep(RETRY_DELAY_MS);
+            return List.of();
+        }
+    }
+    
+    private void projectWithRetry(List<LedgerEntry> batch) throws InterruptedException {
+        while (true) {
+            try {
+                BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class);
+                for (LedgerEntry entry : batch) {
+                    Transaction transaction = entry.getTransaction();
+                    bulkOps.replaceOne(
+                            new Query(Criteria.where("_id").is(transaction.getId())),
+                            transaction,
+                            FindAndReplaceOptions.options().upsert());
+                }
+                bulkOps.execute();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to project {} journal records, retrying", batch.size(), e);
+                Thread.sleep(RETRY_DELAY_MS);
+            }
+        }
+    }
+    
+    private void publishWatermark() {
+        long now = System.nanoTime();
+        // Until the records left from before startup are projected the last published watermark still holds
+        if (journalId == null || projectedSequence < recoveredSequence || now - lastPublish < PUBLISH_INTERVAL_NANOS) {
+            return;
+        }
+        lastPublish = now;
+        // Read before the oldest record, so a record appended in between is covered by one or the other
+        LocalDateTime updatedAt = LocalDateTime.now();
+        Map.Entry<LocalDateTime, Integer> oldest = unprojected.firstEntry();
+        try {
+            mongoTemplate.save(new ProjectionWatermark(journalId, oldest == null ? null : oldest.getKey(), updatedAt));
+        } catch (RuntimeException e) {
+            // A stale watermark only holds snapshots further back
+            log.debug("Failed to publish projection watermark: {}", e.toString());
+        }
+    }
+    
+    private void writeCheckpoint(long sequence) {
+        // Advanced even if the file cannot be written, so projection carries on from here
+        projectedSequence = sequence;
+        try {
+            Path temp = checkpointFile.resolveSibling("checkpoint.tmp");
+            Files.write(temp, ByteBuffer.allocate(8).putLong(sequence).array());
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The records are projected; a stale checkpoint only means they are replayed again
+            log.warn("Failed to write journal checkpoint {}", sequence, e);
+        }
+    }
+    
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        // A journal with nothing left to project must not hold snapshots back while this instance is gone
+        LedgerJournal source = journal;
+        if (journalId != null && source != null && unprojected.isEmpty()
+                && projectedSequence >= source.getDurableSequence()) {
+            try {
+                mongoTemplate.remove(new Query(Criteria.where("_id").is(journalId)), ProjectionWatermark.class);
+            } catch (RuntimeException e) {
+                log.warn("Failed to remove projection watermark {}", journalId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.bank.transaction.journal;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of a journal record. Every record starts with the same fixed header
+ * followed by the length-prefixed variable fields, always in this order:
+ *
+ * <pre>
+ * int    length        whole record, header included
+ * int    crc32c        over every byte after this field
+ * long   sequence
+ * long   createdAt     epoch seconds, UTC
+ * int    createdAt     nanos
+ * byte   type          TransactionType ordinal
+ * byte   status        TransactionStatus ordinal
+ * int    amount scale
+ * bytes  amount        unscaled value, two's complement
+ * string id, accountId, toAccountId, currency, description
+ * </pre>
+ *
+ * Byte arrays and strings are prefixed with an int length, -1 marking null.
+ */
+final class LedgerRecordCodec {
+    
+    static final int HEADER_SIZE = 8;
+    
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+    
+    private LedgerRecordCodec() {
+    }
+    
+    static ByteBuffer encode(long sequence, Transaction transaction) {
+        byte[] unscaled = transaction.getAmount().unscaledValue().toByteArray();
+        byte[] id = bytes(transaction.getId());
+        byte[] accountId = bytes(transaction.getAccountId());
+        byte[] toAccountId = bytes(transaction.getToAccountId());
+        byte[] currency = bytes(transaction.getCurrency());
+        byte[] description = bytes(transaction.getDescription());
+        
+        int length = HEADER_SIZE + 8 + 8 + 4 + 1 + 1 + 4
+                + sized(unscaled) + sized(id) + sized(accountId) + sized(toAccountId)
+                + sized(currency) + sized(description);
+        
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(length);
+        buffer.putInt(0);
+        buffer.putLong(sequence);
+        buffer.putLong(transaction.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(transaction.getCreatedAt().getNano());
+        buffer.put((byte) transaction.getType().ordinal());
+        buffer.put((byte) transaction.getStatus().ordinal());
+        buffer.putInt(transaction.getAmount().scale());
+        put(buffer, unscaled);
+        put(buffer, id);
+        put(buffer, accountId);
+        put(buffer, toAccountId);
+        put(buffer, currency);
+        put(buffer, description);
+        
+        buffer.putInt(4, checksum(buffer, 0));
+        buffer.flip();
+        return buffer;
+    }
+    
+    /**
+     * Reads the record at {@code position}, or returns null when the bytes there are
+     * not a complete record (unwritten space or a write torn by a crash).
+     */
+    static LedgerEntry decode(ByteBuffer segment, int position) {
+        if (segment.limit() - position < HEADER_SIZE) {
+            return null;
+        }
+        int length = segment.getInt(position);
+        if (length <= HEADER_SIZE || length > segment.limit() - position) {
+            return null;
+        }
+        
+        ByteBuffer buffer = segment.duplicate();
+        buffer.position(position).limit(position + length);
+        ByteBuffer record = buffer.slice();
+        if (record.getInt(4) != checksum(record, 0)) {
+            return null;
+        }
+        
+        record.position(HEADER_SIZE);
+        long sequence = record.getLong();
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(record.getLong(), record.getInt(), ZoneOffset.UTC);
+        TransactionType type = TYPES[record.get()];
+        TransactionStatus status = STATUSES[record.get()];
+        int scale = record.getInt();
+        BigDecimal amount = new BigDecimal(new BigInteger(getBytes(record)), scale);
+        
+        Transaction transaction = new Transaction();
+        transaction.setId(getString(record));
+        transaction.setAccountId(getString(record));
+        transaction.setToAccountId(getString(record));
+        transaction.setCurrency(getString(record));
+        transaction.setDescription(getString(record));
+        transaction.setType(type);
+        transaction.setStatus(status);
+        transaction.setAmount(amount);
+        transaction.setCreatedAt(createdAt);
+        return new LedgerEntry(sequence, length, transaction);
+    }
+    
+    private static int checksum(ByteBuffer record, int offset) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer body = record.duplicate();
+        body.position(offset + 8).limit(offset + record.getInt(offset));
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+    
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static int sized(byte[] value) {
+        return 4 + (value == null ? 0 : value.length);
+    }
+    
+    private static void put(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+    
+    private static byte[] getBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return value;
+    }
+    
+    private static String getString(ByteBuffer buffer) {
+        byte[] value = getBytes(buffer);
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,88 @@
+package com.bank.transaction.metrics;
+
+import com.bank.transaction.exception.AccountServiceException;
+import com.bank.transaction.exception.InsufficientBalanceException;
+import com.bank.transaction.exception.LedgerJournalException;
+import com.bank.transaction.exception.SameAccountTransferException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@code transaction.operations} timers for the write operations of
+ * {@code TransactionService}, tagged by operation and outcome. Every combination
+ * is registered up front, so recording costs two array reads and a timer update
+ * with no tag building or registry lookup on the request path.
+ */
+@Component
+public class TransactionMetrics {
+    
+    public enum Operation {
+        DEPOSIT, WITHDRAW, TRANSFER, BATCH
+    }
+    
+    private enum Outcome {
+        SUCCESS, INSUFFICIENT_BALANCE, REJECTED, ACCOUNT_SERVICE_ERROR, JOURNAL_ERROR, ERROR
+    }
+    
+    private final Timer[][] timers = new Timer[Operation.values().length][Outcome.values().length];
+    private final Counter completedBatchItems;
+    private final Counter failedBatchItems;
+    
+    public TransactionMetrics(MeterRegistry meterRegistry) {
+        for (Operation operation : Operation.values()) {
+            for (Outcome outcome : Outcome.values()) {
+                timers[operation.ordinal()][outcome.ordinal()] = Timer.builder("transaction.operations")
+                        .description("Deposits, withdrawals, transfers and batches, from the account lane")
+                        .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry);
+            }
+        }
+        this.completedBatchItems = Counter.builder("transaction.batch.items").tag("status", "completed")
+                .register(meterRegistry);
+        this.failedBatchItems = Counter.builder("transaction.batch.items").tag("status", "failed")
+                .register(meterRegistry);
+    }
+    
+    public <T> T record(Operation operation, Supplier<T> action) {
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            T result = action.get();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = classify(e);
+            throw e;
+        } finally {
+            timers[operation.ordinal()][outcome.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    public void batchItems(int completed, int failed) {
+        completedBatchItems.increment(completed);
+        failedBatchItems.increment(failed);
+    }
+    
+    private static Outcome classify(RuntimeException e) {
+        if (e instanceof InsufficientBalanceException) {
+            return Outcome.INSUFFICIENT_BALANCE;
+        }
+        if (e instanceof SameAccountTransferException) {
+            return Outcome.REJECTED;
+        }
+        if (e instanceof AccountServiceException) {
+            return Outcome.ACCOUNT_SERVICE_ERROR;
+        }
+        if (e instanceof LedgerJournalException) {
+            return Outcome.JOURNAL_ERROR;
+        }
+        return Outcome.ERROR;
+    }
+}
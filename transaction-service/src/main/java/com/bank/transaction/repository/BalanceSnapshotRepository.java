@@ -0,0 +1,13 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.entity.BalanceSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotRepository extends MongoRepository<BalanceSnapshot, String> {
+    Optional<BalanceSnapshot> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(String accountId, LocalDateTime asOf);
+}
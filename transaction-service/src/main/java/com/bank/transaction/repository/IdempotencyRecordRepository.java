@@ -0,0 +1,9 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.entity.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+}
@@ -0,0 +1,9 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.entity.ProjectionWatermark;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProjectionWatermarkRepository extends MongoRepository<ProjectionWatermark, String> {
+}
@@ -7,7 +7,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TransactionRepository extends MongoRepository<Transaction, String> {
+public interface TransactionRepository extends MongoRepository<Transaction, String>, TransactionRepositoryCustom {
     Page<Transaction> findByAccountId(String accountId, Pageable pageable);
     Page<Transaction> findByAccountIdOrToAccountId(String accountId, String toAccountId, Pageable pageable);
 }
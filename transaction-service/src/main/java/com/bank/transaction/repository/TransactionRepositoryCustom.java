@@ -0,0 +1,30 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TransactionRepositoryCustom {
+    /**
+     * Returns up to {@code limit} transactions where the account is either side,
+     * newest first, strictly after the {@code (createdAt, id)} position of the
+     * previous page. Pass nulls for the first page.
+     */
+    List<Transaction> findHistoryPage(String accountId, LocalDateTime afterCreatedAt, String afterId, int limit);
+    
+    /**
+     * Streams every transaction where the account is either side, oldest first, over
+     * a server-side cursor. Optional bounds are inclusive; the caller must close the
+     * stream.
+     */
+    Stream<Transaction> streamHistory(String accountId, LocalDateTime from, LocalDateTime to, TransactionType type);
+    
+    /**
+     * Streams every transaction created in {@code (after, until]}, across all accounts.
+     * A null {@code after} starts from the beginning of the history.
+     */
+    Stream<Transaction> streamCreatedBetween(LocalDateTime after, LocalDateTime until);
+}
@@ -0,0 +1,79 @@
+package com.bank.transaction.repository;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+    
+    private static final int CURSOR_BATCH_SIZE = 1000;
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Override
+    public List<Transaction> findHistoryPage(String accountId, LocalDateTime afterCreatedAt, String afterId, int limit) {
+        // Each $or branch carries the full keyset bound so it can be answered from its
+        // own (side, createdAt, _id) index and the two branches merged in sort order.
+        Query query = new Query(new Criteria().orOperator(
+                sideCriteria("accountId", accountId, afterCreatedAt, afterId),
+                sideCriteria("toAccountId", accountId, afterCreatedAt, afterId)));
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"));
+        query.limit(limit);
+        return mongoTemplate.find(query, Transaction.class);
+    }
+    
+    @Override
+    public Stream<Transaction> streamHistory(String accountId, LocalDateTime from, LocalDateTime to,
+                                             TransactionType type) {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("accountId").is(accountId),
+                Criteria.where("toAccountId").is(accountId)));
+        if (from != null || to != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            if (from != null) {
+                createdAt = createdAt.gte(from);
+            }
+            if (to != null) {
+                createdAt = createdAt.lte(to);
+            }
+            query.addCriteria(createdAt);
+        }
+        if (type != null) {
+            query.addCriteria(Criteria.where("type").is(type));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"));
+        query.cursorBatchSize(CURSOR_BATCH_SIZE);
+        return mongoTemplate.stream(query, Transaction.class);
+    }
+    
+    @Override
+    public Stream<Transaction> streamCreatedBetween(LocalDateTime after, LocalDateTime until) {
+        Criteria createdAt = Criteria.where("createdAt").lte(until);
+        if (after != null) {
+            createdAt = createdAt.gt(after);
+        }
+        Query query = new Query(createdAt);
+        query.cursorBatchSize(CURSOR_BATCH_SIZE);
+        return mongoTemplate.stream(query, Transaction.class);
+    }
+    
+    private Criteria sideCriteria(String field, String accountId, LocalDateTime afterCreatedAt, String afterId) {
+        Criteria criteria = Criteria.where(field).is(accountId);
+        if (afterCreatedAt != null) {
+            criteria = criteria.and("createdAt").lte(afterCreatedAt).orOperator(
+                    Criteria.where("createdAt").lt(afterCreatedAt),
+                    Criteria.where("_id").lt(new ObjectId(afterId)));
+        }
+        return criteria;
+    }
+}
@@ -0,0 +1,195 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.BalanceAtResponse;
+import com.bank.transaction.dto.StatementResponse;
+import com.bank.transaction.entity.BalanceSnapshot;
+import com.bank.transaction.entity.ProjectionWatermark;
+import com.bank.transaction.entity.SnapshotWatermark;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionType;
+import com.bank.transaction.repository.BalanceSnapshotRepository;
+import com.bank.transaction.repository.ProjectionWatermarkRepository;
+import com.bank.transaction.repository.SnapshotWatermarkRepository;
+import com.bank.transaction.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Maintains per-account balance snapshots so historical balances can be answered
+ * from the nearest snapshot plus the few transactions after it, instead of
+ * replaying an account's whole history. Each run folds the transactions created
+ * since the previous cutoff into new snapshots for the accounts they touched.
+ * <p>
+ * Transactions reach Mongo from each instance's ledger journal, possibly long after
+ * they were created, e.g. when Mongo was down. The cutoff never passes the oldest
+ * transaction any journal still holds unprojected, as published in its
+ * {@link ProjectionWatermark}, so a window is only folded once all of it is in Mongo.
+ */
+@Slf4j
+@Service
+public class BalanceSnapshotService {
+    
+    private static final String WATERMARK_ID = "balance";
+    private static final int LOOKUP_CHUNK = 1000;
+    
+    private final TransactionRepository transactionRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final SnapshotWatermarkRepository snapshotWatermarkRepository;
+    private final ProjectionWatermarkRepository projectionWatermarkRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Duration lag;
+    
+    public BalanceSnapshotService(TransactionRepository transactionRepository,
+                                  BalanceSnapshotRepository balanceSnapshotRepository,
+                                  SnapshotWatermarkRepository snapshotWatermarkRepository,
+                                  ProjectionWatermarkRepository projectionWatermarkRepository,
+                                  MongoTemplate mongoTemplate,
+                                  @Value("${transaction.snapshots.lag:PT5M}") Duration lag) {
+        this.transactionRepository = transactionRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.snapshotWatermarkRepository = snapshotWatermarkRepository;
+        this.projectionWatermarkRepository = projectionWatermarkRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.lag = lag;
+    }
+    
+    /**
+     * The cutoff trails the clock by {@code lag}, which covers a transaction between
+     * being stamped and being appended to the journal, and stops short of every
+     * journal's oldest unprojected transaction.
+     */
+    @Scheduled(fixedDelayString = "${transaction.snapshots.interval:PT1H}",
+            initialDelayString = "${transaction.snapshots.initial-delay:PT1M}")
+    public void takeSnapshots() {
+        LocalDateTime previous = snapshotWatermarkRepository.findById(WATERMARK_ID)
+                .map(SnapshotWatermark::getCutoff)
+                .orElse(null);
+        LocalDateTime cutoff = projectedCutoff(LocalDateTime.now().minus(lag)).truncatedTo(ChronoUnit.MILLIS);
+        if (previous != null && !cutoff.isAfter(previous)) {
+            return;
+        }
+        
+        Map<String, BigDecimal> deltas = new HashMap<>();
+        try (Stream<Transaction> transactions = transactionRepository.streamCreatedBetween(previous, cutoff)) {
+            transactions.forEach(transaction -> accumulate(transaction, deltas));
+        }
+        
+        List<String> accountIds = new ArrayList<>(deltas.keySet());
+        for (int start = 0; start < accountIds.size(); start += LOOKUP_CHUNK) {
+            List<String> chunk = accountIds.subList(start, Math.min(start + LOOKUP_CHUNK, accountIds.size()));
+            Map<String, BigDecimal> latest = findLatestBalances(chunk, previous);
+            List<BalanceSnapshot> snapshots = new ArrayList<>(chunk.size());
+            for (String accountId : chunk) {
+                BigDecimal balance = latest.getOrDefault(accountId, BigDecimal.ZERO).add(deltas.get(accountId));
+                snapshots.add(new BalanceSnapshot(null, accountId, cutoff, balance));
+            }
+            try {
+                balanceSnapshotRepository.insert(snapshots);
+            } catch (DuplicateKeyException e) {
+                // Another instance already folded this window
+                log.info("Balance snapshots for {} already exist", cutoff);
+                return;
+            }
+        }
+        
+        snapshotWatermarkRepository.save(new SnapshotWatermark(WATERMARK_ID, cutoff));
+    }
+    
+    /**
+     * The latest instant by which every transaction created is in Mongo, as far as the
+     * journals' watermarks tell. A watermark is only as recent as its last update, so
+     * one from an instance that stopped publishing holds the cutoff at that update.
+     */
+    private LocalDateTime projectedCutoff(LocalDateTime cutoff) {
+        for (ProjectionWatermark watermark : projectionWatermarkRepository.findAll()) {
+            LocalDateTime projectedUntil = watermark.getUpdatedAt();
+            if (watermark.getOldestUnprojected() != null) {
+                // Stored timestamps have millisecond precision; stop before the millisecond it falls in
+                LocalDateTime beforeOldest = watermark.getOldestUnprojected().truncatedTo(ChronoUnit.MILLIS).minusNanos(1);
+                projectedUntil = beforeOldest.isBefore(projectedUntil) ? beforeOldest : projectedUntil;
+            }
+            if (projectedUntil.isBefore(cutoff)) {
+                log.debug("Journal {} holds balance snapshots back to {}", watermark.getJournalId(), projectedUntil);
+                cutoff = projectedUntil;
+            }
+        }
+        return cutoff;
+    }
+    
+    public BalanceAtResponse getBalanceAt(String accountId, LocalDateTime at) {
+        return new BalanceAtResponse(accountId, at, balanceAt(accountId, at));
+    }
+    
+    public StatementResponse getStatement(String accountId, LocalDateTime from, LocalDateTime to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("Statement end must not be before its start");
+        }
+        // Stored timestamps have millisecond precision, so this excludes anything at `from`
+        BigDecimal opening = balanceAt(accountId, from.minusNanos(1));
+        BigDecimal closing = balanceAt(accountId, to);
+        return new StatementResponse(accountId, from, to, opening, closing);
+    }
+    
+    /**
+     * Balance after every transaction created at or before {@code at}.
+     */
+    private BigDecimal balanceAt(String accountId, LocalDateTime at) {
+        BalanceSnapshot snapshot = balanceSnapshotRepository
+                .findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(accountId, at)
+                .orElse(null);
+        BigDecimal balance = snapshot == null ? BigDecimal.ZERO : snapshot.getBalance();
+        LocalDateTime from = snapshot == null ? null : snapshot.getAsOf().plus(1, ChronoUnit.MILLIS);
+        
+        Map<String, BigDecimal> delta = new HashMap<>();
+        try (Stream<Transaction> transactions = transactionRepository.streamHistory(accountId, from, at, null)) {
+            transactions.forEach(transaction -> accumulate(transaction, delta));
+        }
+        return balance.add(delta.getOrDefault(accountId, BigDecimal.ZERO));
+    }
+    
+    private void accumulate(Transaction transaction, Map<String, BigDecimal> deltas) {
+        BigDecimal amount = transaction.getAmount();
+        if (transaction.getType() == TransactionType.DEPOSIT) {
+            deltas.merge(transaction.getAccountId(), amount, BigDecimal::add);
+        } else if (transaction.getType() == TransactionType.WITHDRAW) {
+            deltas.merge(transaction.getAccountId(), amount.negate(), BigDecimal::add);
+        } else if (transaction.getType() == TransactionType.TRANSFER) {
+            deltas.merge(transaction.getAccountId(), amount.negate(), BigDecimal::add);
+            deltas.merge(transaction.getToAccountId(), amount, BigDecimal::add);
+        }
+    }
+    
+    private Map<String, BigDecimal> findLatestBalances(List<String> accountIds, LocalDateTime asOf) {
+        if (asOf == null) {
+            return Map.of();
+        }
+        // Bounded by the previous cutoff so snapshots a concurrent run wrote for this
+        // window are never used as the base it is added to
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("accountId").in(accountIds).and("asOf").lte(asOf)),
+                Aggregation.sort(Sort.Direction.DESC, "asOf"),
+                Aggregation.group("accountId").first("balance").as("balance"));
+        
+        Map<String, BigDecimal> balances = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, BalanceSnapshot.class, BalanceSnapshot.class)
+                .forEach(snapshot -> balances.put(snapshot.getId(), snapshot.getBalance()));
+        return balances;
+    }
+}
@@ -0,0 +1,106 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionType;
+import com.bank.transaction.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes an account's transactions straight from a Mongo cursor to the response.
+ * Rows are encoded one at a time, so memory stays flat whatever the export size,
+ * and a slow client simply blocks the writer, which in turn stops the cursor
+ * from fetching further batches.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "id,accountId,toAccountId,type,amount,currency,description,status,createdAt\n";
+    
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    
+    public void exportNdjson(String accountId, LocalDateTime from, LocalDateTime to, TransactionType type,
+                             OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TransactionResponse.class);
+        OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        try (Stream<Transaction> transactions = transactionRepository.streamHistory(accountId, from, to, type)) {
+            Iterator<Transaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(mapToResponse(iterator.next())));
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+    
+    public void exportCsv(String accountId, LocalDateTime from, LocalDateTime to, TransactionType type,
+                          OutputStream outputStream) throws IOException {
+        OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        try (Stream<Transaction> transactions = transactionRepository.streamHistory(accountId, from, to, type)) {
+            transactions.forEach(transaction -> {
+                try {
+                    out.write(toCsvRow(transaction).getBytes(StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        out.flush();
+    }
+    
+    private String toCsvRow(Transaction transaction) {
+        StringBuilder row = new StringBuilder(128);
+        appendCsv(row, transaction.getId()).append(',');
+        appendCsv(row, transaction.getAccountId()).append(',');
+        appendCsv(row, transaction.getToAccountId()).append(',');
+        appendCsv(row, transaction.getType()).append(',');
+        appendCsv(row, transaction.getAmount() == null ? null : transaction.getAmount().toPlainString()).append(',');
+        appendCsv(row, transaction.getCurrency()).append(',');
+        appendCsv(row, transaction.getDescription()).append(',');
+        appendCsv(row, transaction.getStatus()).append(',');
+        appendCsv(row, transaction.getCreatedAt());
+        return row.append('\n').toString();
+    }
+    
+    private StringBuilder appendCsv(StringBuilder row, Object value) {
+        if (value == null) {
+            return row;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return row.append(text);
+        }
+        return row.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+    
+    private TransactionResponse mapToResponse(Transaction transaction) {
+        return new TransactionResponse(
+                transaction.getId(),
+                transaction.getAccountId(),
+                transaction.getToAccountId(),
+                transaction.getType(),
+                transaction.getAmount(),
+                transaction.getCurrency(),
+                transaction.getDescription(),
+                transaction.getStatus(),
+                transaction.getCreatedAt()
+        );
+    }
+}
@@ -5,18 +5,35 @@ import com.bank.transaction.dto.*;
 import com.bank.transaction.entity.Transaction;
 import com.bank.transaction.entity.TransactionStatus;
 import com.bank.transaction.entity.TransactionType;
+import com.bank.transaction.events.TransactionCommittedEvent;
 import com.bank.transaction.exception.AccountServiceException;
+import com.bank.transaction.exception.BalanceConflictException;
 import com.bank.transaction.exception.InsufficientBalanceException;
 import com.bank.transaction.exception.SameAccountTransferException;
+import com.bank.transaction.journal.LedgerJournal;
+import com.bank.transaction.metrics.TransactionMetrics;
+import com.bank.transaction.metrics.TransactionMetrics.Operation;
 import com.bank.transaction.repository.TransactionRepository;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -24,17 +41,18 @@ public class TransactionService {
     
     private final TransactionRepository transactionRepository;
     private final AccountClient accountClient;
+    private final LedgerJournal ledgerJournal;
+    private final TransactionMetrics transactionMetrics;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
     public TransactionResponse deposit(DepositRequest request) {
-        // Get current balance
-        BigDecimal currentBalance = getAccountBalance(request.getAccountId());
-        
-        // Calculate new balance
-        BigDecimal newBalance = currentBalance.add(request.getAmount());
-        
-        // Update account balance
-        updateAccountBalance(request.getAccountId(), newBalance);
+        return transactionMetrics.record(Operation.DEPOSIT, () -> applyDeposit(request));
+    }
+    
+    private TransactionResponse applyDeposit(DepositRequest request) {
+        // Credit account balance
+        BigDecimal balance = creditAccount(request.getAccountId(), request.getAmount());
         
         // Create transaction record
         Transaction transaction = new Transaction();
@@ -45,25 +63,21 @@ public class TransactionService {
         transaction.setStatus(TransactionStatus.COMPLETED);
         transaction.setCreatedAt(LocalDateTime.now());
         
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        return mapToResponse(savedTransaction);
+        Transaction savedTransaction = recordTransaction(transaction);
+        TransactionResponse response = mapToResponse(savedTransaction);
+        publishCommit(List.of(response), Map.of(request.getAccountId(), balance));
+        return response;
     }
     
     @Transactional
     public TransactionResponse withdraw(WithdrawRequest request) {
-        // Get current balance
-        BigDecimal currentBalance = getAccountBalance(request.getAccountId());
-        
-        // Validate sufficient balance
-        if (currentBalance.compareTo(request.getAmount()) < 0) {
-            throw new InsufficientBalanceException("Insufficient balance for withdrawal");
-        }
-        
-        // Calculate new balance
-        BigDecimal newBalance = currentBalance.subtract(request.getAmount());
-        
-        // Update account balance
-        updateAccountBalance(request.getAccountId(), newBalance);
+        return transactionMetrics.record(Operation.WITHDRAW, () -> applyWithdraw(request));
+    }
+    
+    private TransactionResponse applyWithdraw(WithdrawRequest request) {
+        // Debit account balance, guarded server-side against overdraft
+        BigDecimal balance = debitAccount(request.getAccountId(), request.getAmount(),
+                "Insufficient balance for withdrawal");
         
         // Create transaction record
         Transaction transaction = new Transaction();
@@ -74,33 +88,25 @@ public class TransactionService {
         transaction.setStatus(TransactionStatus.COMPLETED);
         transaction.setCreatedAt(LocalDateTime.now());
         
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        return mapToResponse(savedTransaction);
+        Transaction savedTransaction = recordTransaction(transaction);
+        TransactionResponse response = mapToResponse(savedTransaction);
+        publishCommit(List.of(response), Map.of(request.getAccountId(), balance));
+        return response;
     }
     
     @Transactional
     public TransactionResponse transfer(TransferRequest request) {
+        return transactionMetrics.record(Operation.TRANSFER, () -> applyTransfer(request));
+    }
+    
+    private TransactionResponse applyTransfer(TransferRequest request) {
         // Validate from and to accounts are different
         if (request.getFromAccountId().equals(request.getToAccountId())) {
             throw new SameAccountTransferException("Cannot transfer to the same account");
         }
         
-        // Get current balances
-        BigDecimal fromBalance = getAccountBalance(request.getFromAccountId());
-        BigDecimal toBalance = getAccountBalance(request.getToAccountId());
-        
-        // Validate sufficient balance
-        if (fromBalance.compareTo(request.getAmount()) < 0) {
-            throw new InsufficientBalanceException("Insufficient balance for transfer");
-        }
-        
-        // Calculate new balances
-        BigDecimal newFromBalance = fromBalance.subtract(request.getAmount());
-        BigDecimal newToBalance = toBalance.add(request.getAmount());
-        
-        // Update account balances (atomic operation)
-        updateAccountBalance(request.getFromAccountId(), newFromBalance);
-        updateAccountBalance(request.getToAccountId(), newToBalance);
+        // Debit and credit both accounts in a single account-service call
+        Map<String, BigDecimal> balances = transferFunds(request);
         
         // Create transaction record
         Transaction transaction = new Transaction();
@@ -112,8 +118,75 @@ public class TransactionService {
         transaction.setStatus(TransactionStatus.COMPLETED);
         transaction.setCreatedAt(LocalDateTime.now());
         
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        return mapToResponse(savedTransaction);
+        Transaction savedTransaction = recordTransaction(transaction);
+        TransactionResponse response = mapToResponse(savedTransaction);
+        publishCommit(List.of(response), balances);
+        return response;
+    }
+    
+    /**
+     * Applies a batch of mixed operations with one balance read, one netted bulk
+     * balance update and one group-committed journal append. Items are evaluated
+     * in submission order against the running balances, so each item succeeds or
+     * fails exactly as it would have if submitted on its own. Callers must hold the lanes of every
+     * account in the batch.
+     */
+    public BatchTransactionResponse processBatch(BatchTransactionRequest request) {
+        BatchTransactionResponse response = transactionMetrics.record(Operation.BATCH, () -> applyBatch(request));
+        transactionMetrics.batchItems(response.getCompleted(), response.getFailed());
+        return response;
+    }
+    
+    private BatchTransactionResponse applyBatch(BatchTransactionRequest request) {
+        List<BatchTransactionItem> items = request.getItems();
+        Map<String, BigDecimal> balances = getAccountBalances(getBatchAccountIds(request));
+        Map<String, BigDecimal> deltas = new HashMap<>();
+        String[] failures = new String[items.size()];
+        
+        for (int i = 0; i < items.size(); i++) {
+            failures[i] = applyBatchItem(items.get(i), balances, deltas);
+        }
+        
+        deltas.values().removeIf(delta -> delta.signum() == 0);
+        Map<String, BigDecimal> applied = applyBalanceDeltas(deltas);
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (failures[i] == null) {
+                transactions.add(toTransaction(items.get(i), now));
+            }
+        }
+        transactions.forEach(transaction -> transaction.setId(new ObjectId().toHexString()));
+        ledgerJournal.append(transactions);
+        
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        List<TransactionResponse> committed = new ArrayList<>(transactions.size());
+        int saved = 0;
+        for (int i = 0; i < items.size(); i++) {
+            if (failures[i] == null) {
+                TransactionResponse response = mapToResponse(transactions.get(saved++));
+                committed.add(response);
+                results.add(new BatchItemResult(i, TransactionStatus.COMPLETED, response, null));
+            } else {
+                results.add(new BatchItemResult(i, TransactionStatus.FAILED, null, failures[i]));
+            }
+        }
+        if (!committed.isEmpty()) {
+            publishCommit(committed, applied);
+        }
+        return new BatchTransactionResponse(saved, items.size() - saved, results);
+    }
+    
+    public Set<String> getBatchAccountIds(BatchTransactionRequest request) {
+        Set<String> accountIds = new LinkedHashSet<>();
+        for (BatchTransactionItem item : request.getItems()) {
+            accountIds.add(item.getAccountId());
+            if (item.getType() == TransactionType.TRANSFER && item.getToAccountId() != null) {
+                accountIds.add(item.getToAccountId());
+            }
+        }
+        return accountIds;
     }
     
     public Page<TransactionResponse> getTransactionHistory(String accountId, Pageable pageable) {
@@ -122,17 +195,182 @@ public class TransactionService {
         return transactions.map(this::mapToResponse);
     }
     
-    private BigDecimal getAccountBalance(String accountId) {
+    public TransactionHistoryResponse getTransactionHistory(String accountId, String after, int size) {
+        LocalDateTime afterCreatedAt = null;
+        String afterId = null;
+        if (after != null && !after.isBlank()) {
+            String[] position = decodeCursor(after);
+            afterCreatedAt = LocalDateTime.parse(position[0]);
+            afterId = position[1];
+        }
+        
+        // Fetch one extra row to learn whether another page exists without counting
+        List<Transaction> transactions = transactionRepository.findHistoryPage(
+                accountId, afterCreatedAt, afterId, size + 1);
+        String nextCursor = null;
+        if (transactions.size() > size) {
+            transactions = transactions.subList(0, size);
+            nextCursor = encodeCursor(transactions.get(size - 1));
+        }
+        
+        List<TransactionResponse> responses = new ArrayList<>(transactions.size());
+        transactions.forEach(transaction -> responses.add(mapToResponse(transaction)));
+        return new TransactionHistoryResponse(responses, nextCursor);
+    }
+    
+    /**
+     * Makes the record durable in the ledger journal. The Mongo document is projected
+     * from the journal asynchronously, so the id is assigned here.
+     */
+    private Transaction recordTransaction(Transaction transaction) {
+        transaction.setId(new ObjectId().toHexString());
+        ledgerJournal.append(List.of(transaction));
+        return transaction;
+    }
+    
+    /**
+     * Announces journaled transactions and the balances account-service returned for
+     * them, so connected dashboards are updated without re-reading either.
+     */
+    private void publishCommit(List<TransactionResponse> transactions, Map<String, BigDecimal> balances) {
+        eventPublisher.publishEvent(new TransactionCommittedEvent(transactions, balances));
+    }
+    
+    private String applyBatchItem(BatchTransactionItem item, Map<String, BigDecimal> balances,
+                                  Map<String, BigDecimal> deltas) {
+        String accountId = item.getAccountId();
+        BigDecimal amount = item.getAmount();
+        if (!balances.containsKey(accountId)) {
+            return "Account not found";
+        }
+        
+        switch (item.getType()) {
+            case DEPOSIT -> moveFunds(accountId, amount, balances, deltas);
+            case WITHDRAW -> {
+                if (balances.get(accountId).compareTo(amount) < 0) {
+                    return "Insufficient balance for withdrawal";
+                }
+                moveFunds(accountId, amount.negate(), balances, deltas);
+            }
+            case TRANSFER -> {
+                String toAccountId = item.getToAccountId();
+                if (toAccountId == null || toAccountId.isBlank()) {
+                    return "To account ID is required";
+                }
+                if (accountId.equals(toAccountId)) {
+                    return "Cannot transfer to the same account";
+                }
+                if (!balances.containsKey(toAccountId)) {
+                    return "Account not found";
+                }
+                if (balances.get(accountId).compareTo(amount) < 0) {
+                    return "Insufficient balance for transfer";
+                }
+                moveFunds(accountId, amount.negate(), balances, deltas);
+                moveFunds(toAccountId, amount, balances, deltas);
+            }
+        }
+        return null;
+    }
+    
+    private void moveFunds(String accountId, BigDecimal delta, Map<String, BigDecimal> balances,
+                           Map<String, BigDecimal> deltas) {
+        balances.merge(accountId, delta, BigDecimal::add);
+        deltas.merge(accountId, delta, BigDecimal::add);
+    }
+    
+    private Transaction toTransaction(BatchTransactionItem item, LocalDateTime createdAt) {
+        Transaction transaction = new Transaction();
+        transaction.setAccountId(item.getAccountId());
+        if (item.getType() == TransactionType.TRANSFER) {
+            transaction.setToAccountId(item.getToAccountId());
+        }
+        transaction.setType(item.getType());
+        transaction.setAmount(item.getAmount());
+        transaction.setDescription(item.getDescription());
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setCreatedAt(createdAt);
+        return transaction;
+    }
+    
+    private Map<String, BigDecimal> getAccountBalances(Set<String> accountIds) {
+        try {
+            return new HashMap<>(accountClient.getBalances(accountIds));
+        } catch (Exception e) {
+            throw new AccountServiceException("Failed to fetch account balances", e);
+        }
+    }
+    
+    private Map<String, BigDecimal> applyBalanceDeltas(Map<String, BigDecimal> deltas) {
+        Map<String, BigDecimal> applied;
         try {
-            return accountClient.getBalance(accountId);
+            applied = accountClient.adjustBalances(deltas);
         } catch (Exception e) {
-            throw new AccountServiceException("Failed to fetch account balance", e);
+            throw new AccountServiceException("Failed to update account balances", e);
+        }
+        if (applied.size() == deltas.size()) {
+            return applied;
+        }
+        
+        // A balance moved outside this service between the read and the write, or its
+        // write failed. Undo the deltas that did land so the whole batch can be resubmitted.
+        Map<String, BigDecimal> reversals = new HashMap<>();
+        applied.keySet().forEach(accountId -> reversals.put(accountId, deltas.get(accountId).negate()));
+        Map<String, BigDecimal> reverted;
+        try {
+            reverted = accountClient.adjustBalances(reversals);
+        } catch (Exception e) {
+            throw new AccountServiceException("Failed to revert partially applied batch", e);
+        }
+        if (reverted.size() != reversals.size()) {
+            throw new AccountServiceException("Failed to revert partially applied batch");
+        }
+        throw new AccountServiceException("Account balances changed or could not be updated while the batch was "
+                + "applied, please resubmit");
+    }
+    
+    private Map<String, BigDecimal> transferFunds(TransferRequest request) {
+        try {
+            return accountClient.transfer(request);
+        } catch (FeignException.Conflict e) {
+            throw new InsufficientBalanceException("Insufficient balance for transfer");
+        } catch (Exception e) {
+            throw new AccountServiceException("Failed to transfer funds", e);
+        }
+    }
+    
+    private String encodeCursor(Transaction transaction) {
+        String position = transaction.getCreatedAt() + "|" + transaction.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            if (parts.length == 2 && ObjectId.isValid(parts[1])) {
+                LocalDateTime.parse(parts[0]);
+                return parts;
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Fall through to the error below
+        }
+        throw new RuntimeException("Invalid cursor");
+    }
+    
+    private BigDecimal creditAccount(String accountId, BigDecimal amount) {
+        try {
+            return accountClient.adjustBalance(accountId, amount);
+        } catch (Exception e) {
+            throw new AccountServiceException("Failed to update account balance", e);
         }
     }
     
-    private void updateAccountBalance(String accountId, BigDecimal newBalance) {
+    private BigDecimal debitAccount(String accountId, BigDecimal amount, String insufficientMessage) {
         try {
-            accountClient.updateBalance(accountId, newBalance);
+            return accountClient.adjustBalance(accountId, amount.negate());
+        } catch (FeignException.Conflict | BalanceConflictException e) {
+            throw new InsufficientBalanceException(insufficientMessage);
         } catch (Exception e) {
             throw new AccountServiceException("Failed to update account balance", e);
         }
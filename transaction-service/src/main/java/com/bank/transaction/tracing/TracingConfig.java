@@ -0,0 +1,37 @@
+package com.bank.transaction.tracing;
+
+import com.bank.common.tracing.SpanExporterConfig;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Tracing beyond what Spring Boot configures on its own. Boot traces incoming
+ * requests and the Feign client and propagates W3C {@code traceparent} headers;
+ * this adds a span per MongoDB command and imports the shared local span sink
+ * ({@link SpanExporterConfig}).
+ */
+@Configuration
+@Import(SpanExporterConfig.class)
+public class TracingConfig {
+    
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTracingCustomizer(ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+    
+    // Scrapes and health checks would otherwise fill the sampled traces
+    @Bean
+    public ObservationPredicate ignoreActuatorRequests() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext serverContext
+                && serverContext.getCarrier().getRequestURI().startsWith("/actuator"));
+    }
+}